@@ -69,6 +69,7 @@ import org.spongepowered.mod.plugin.SpongePluginContainer;
 import org.spongepowered.mod.registry.SpongeGameRegistry;
 import org.spongepowered.mod.service.permission.SpongeContextCalculator;
 import org.spongepowered.mod.service.permission.SpongePermissionService;
+import org.spongepowered.mod.service.persistence.PersistencePipeline;
 import org.spongepowered.mod.service.persistence.SpongeSerializationService;
 import org.spongepowered.mod.service.scheduler.AsyncScheduler;
 import org.spongepowered.mod.service.scheduler.SyncScheduler;
@@ -176,6 +177,8 @@ public class SpongeMod extends DummyModContainer implements PluginContainer {
 
             // Add the SyncScheduler as a listener for ServerTickEvents
             FMLCommonHandler.instance().bus().register(this.getGame().getSyncScheduler());
+            // Builds the objects read by the persistence pipeline in slices per tick
+            FMLCommonHandler.instance().bus().register(PersistencePipeline.getInstance());
 
             if (e.getSide() == Side.SERVER) {
                 SpongeHooks.enableThreadContentionMonitoring();
@@ -24,6 +24,7 @@
  */
 package org.spongepowered.mod.command;
 
+import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableList;
 import net.minecraft.command.CommandBase;
 import net.minecraft.command.ICommandSender;
@@ -34,6 +35,7 @@ import net.minecraft.world.WorldServer;
 import net.minecraftforge.common.DimensionManager;
 import ninja.leaping.configurate.commented.CommentedConfigurationNode;
 import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.spongepowered.api.service.sql.SqlService;
 import org.spongepowered.api.world.DimensionType;
 import org.spongepowered.mod.SpongeMod;
 import org.spongepowered.mod.configuration.SpongeConfig;
@@ -41,10 +43,13 @@ import org.spongepowered.mod.interfaces.IMixinWorld;
 import org.spongepowered.mod.interfaces.IMixinWorldProvider;
 import org.spongepowered.mod.mixin.plugin.CoreMixinPlugin;
 import org.spongepowered.mod.registry.SpongeGameRegistry;
+import org.spongepowered.mod.service.sql.SqlServiceImpl;
+import org.spongepowered.mod.status.PingRateLimiter;
 import org.spongepowered.mod.util.SpongeHooks;
 
 import java.io.File;
 import java.text.SimpleDateFormat;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 
@@ -53,7 +58,7 @@ public class CommandSponge extends CommandBase {
     @SuppressWarnings("unused")
     private static final List<String> FLAGS = ImmutableList.of("-g", "-d", "-w");
     private static final List<String> FLAG_COMMANDS = ImmutableList.of("save", "chunks", "conf", "reload");
-    private static final List<String> COMMANDS = ImmutableList.of("chunks", "conf", "heap", "help", "reload", "save", "version");
+    private static final List<String> COMMANDS = ImmutableList.of("chunks", "conf", "heap", "help", "network", "reload", "save", "sql", "version");
     private static final List<String> ALIASES = ImmutableList.of("sp");
 
     private static final String USAGE_CONF =
@@ -255,16 +260,24 @@ public class CommandSponge extends CommandBase {
                                     + "SpongeAPI : " + EnumChatFormatting.GREEN + SpongeMod.instance.getGame().getApiVersion()));
                 } else if (command.equalsIgnoreCase("heap")) {
                     processHeap(sender, args);
+                } else if (command.equalsIgnoreCase("network")) {
+                    processNetwork(sender, args);
+                } else if (command.equalsIgnoreCase("sql")) {
+                    processSql(sender, args);
                 } else if (command.equalsIgnoreCase("help")) {
                     sender.addChatMessage(new ChatComponentText("commands:\n"
                             + "    " + EnumChatFormatting.GREEN + "chunks   " + EnumChatFormatting.WHITE + "     "
                             + "Prints chunk data for a specific dimension or world(s)\n"
                             + "    " + EnumChatFormatting.GREEN + "conf   " + EnumChatFormatting.WHITE + "     " + "Configure sponge settings\n"
                             + "    " + EnumChatFormatting.GREEN + "heap   " + EnumChatFormatting.WHITE + "     " + "Dump live JVM heap\n"
+                            + "    " + EnumChatFormatting.GREEN + "network   " + EnumChatFormatting.WHITE + "     "
+                            + "Prints server list ping rate limiting stats\n"
                             + "    " + EnumChatFormatting.GREEN + "reload   " + EnumChatFormatting.WHITE + "     "
                             + "Reloads a global, dimension, or world config\n"
                             + "    " + EnumChatFormatting.GREEN + "save   " + EnumChatFormatting.WHITE + "     "
                             + "Saves a global, dimension, or world config\n"
+                            + "    " + EnumChatFormatting.GREEN + "sql   " + EnumChatFormatting.WHITE + "     "
+                            + "Prints SQL connection pool stats\n"
                             + "    " + EnumChatFormatting.GREEN + "version" + EnumChatFormatting.WHITE + "     " + "Prints current sponge version"));
                 }
             } else { // invalid command
@@ -286,6 +299,47 @@ public class CommandSponge extends CommandBase {
         sender.addChatMessage(new ChatComponentText("Heap dump complete"));
     }
 
+    private void processNetwork(ICommandSender sender, String[] args) {
+        PingRateLimiter limiter = PingRateLimiter.getInstance();
+        if (args.length > 1 && args[1].equalsIgnoreCase("reset")) {
+            limiter.clear();
+            sender.addChatMessage(new ChatComponentText(EnumChatFormatting.GREEN + "Reset ping rate limiting stats"));
+            return;
+        }
+
+        sender.addChatMessage(new ChatComponentText(
+                EnumChatFormatting.GOLD + "Ping rate limiting: " + EnumChatFormatting.AQUA
+                        + (CoreMixinPlugin.getGlobalConfig().getConfig().getNetwork().isPingLimitEnabled() ? "enabled" : "disabled") + "\n"
+                        + EnumChatFormatting.GOLD + " Allowed pings: " + EnumChatFormatting.GRAY + limiter.getAllowed() + "\n"
+                        + EnumChatFormatting.GOLD + " Throttled pings: " + EnumChatFormatting.GRAY + limiter.getThrottled() + "\n"
+                        + EnumChatFormatting.GOLD + " Tracked addresses: " + EnumChatFormatting.GRAY + limiter.getTrackedAddresses()
+                ));
+    }
+
+    private void processSql(ICommandSender sender, String[] args) {
+        Optional<SqlService> service = SpongeMod.instance.getGame().getServiceManager().provide(SqlService.class);
+        if (!service.isPresent() || !(service.get() instanceof SqlServiceImpl)) {
+            sender.addChatMessage(new ChatComponentText(EnumChatFormatting.RED + "The SQL service is not available"));
+            return;
+        }
+
+        Collection<SqlServiceImpl.PooledDataSource> sources = ((SqlServiceImpl) service.get()).getDataSources();
+        sender.addChatMessage(new ChatComponentText(
+                EnumChatFormatting.GOLD + "Connection pools: " + EnumChatFormatting.AQUA + sources.size()));
+        for (SqlServiceImpl.PooledDataSource source : sources) {
+            sender.addChatMessage(new ChatComponentText(
+                    EnumChatFormatting.GOLD + "Pool: " + EnumChatFormatting.AQUA + source.getDisplayName() + "\n"
+                            + EnumChatFormatting.GOLD + " Maximum size: " + EnumChatFormatting.GRAY + source.getMaximumPoolSize() + "\n"
+                            + EnumChatFormatting.GOLD + " Active connections: " + EnumChatFormatting.GRAY + source.getActiveConnections() + "\n"
+                            + EnumChatFormatting.GOLD + " Idle connections: " + EnumChatFormatting.GRAY + source.getIdleConnections() + "\n"
+                            + EnumChatFormatting.GOLD + " Waiting threads: " + EnumChatFormatting.GRAY + source.getThreadsAwaitingConnection() + "\n"
+                            + EnumChatFormatting.GOLD + " Acquired connections: " + EnumChatFormatting.GRAY + source.getAcquiredConnections() + "\n"
+                            + EnumChatFormatting.GOLD + " Acquire time (avg/max): " + EnumChatFormatting.GRAY
+                            + String.format("%.2fms / %.2fms", source.getAverageAcquireMillis(), source.getMaxAcquireMillis())
+                    ));
+        }
+    }
+
     private void processChunks(SpongeConfig.Type type, WorldServer world, DimensionType dimensionType, ICommandSender sender, String[] args) {
 
         if (type == SpongeConfig.Type.GLOBAL) {
@@ -0,0 +1,93 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered.org <http://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.command;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import net.minecraft.command.ICommandSender;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+/**
+ * Remembers the last tab completion of each command sender for a short
+ * time, so a client repeatedly requesting completions for the same input
+ * only asks the commands once.
+ */
+public final class CommandSuggestionCache {
+
+    private static final CommandSuggestionCache instance = new CommandSuggestionCache();
+
+    private static final long EXPIRE_MILLIS = 1000;
+
+    private final Cache<ICommandSender, Suggestions> suggestions =
+            CacheBuilder.newBuilder().weakKeys().expireAfterWrite(EXPIRE_MILLIS, TimeUnit.MILLISECONDS).build();
+
+    private CommandSuggestionCache() {
+    }
+
+    public static CommandSuggestionCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * Gets the suggestions last made to the sender, if they were made for the
+     * same input and haven't expired yet.
+     *
+     * @param sender The sender
+     * @param input The input to complete
+     * @return The cached suggestions, or null
+     */
+    @Nullable
+    public List<String> get(ICommandSender sender, String input) {
+        Suggestions suggestions = this.suggestions.getIfPresent(sender);
+        return suggestions != null && suggestions.input.equals(input) ? suggestions.values : null;
+    }
+
+    public List<String> put(ICommandSender sender, String input, List<String> values) {
+        Suggestions suggestions = new Suggestions(input, ImmutableList.copyOf(values));
+        this.suggestions.put(sender, suggestions);
+        return suggestions.values;
+    }
+
+    public void clear() {
+        this.suggestions.invalidateAll();
+    }
+
+    private static final class Suggestions {
+
+        final String input;
+        final List<String> values;
+
+        Suggestions(String input, List<String> values) {
+            this.input = input;
+            this.values = values;
+        }
+    }
+
+}
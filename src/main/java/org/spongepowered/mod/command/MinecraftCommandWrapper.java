@@ -43,6 +43,7 @@ import org.spongepowered.api.util.command.CommandSource;
 import org.spongepowered.mod.SpongeMod;
 
 import java.util.List;
+import java.util.regex.Pattern;
 
 /**
  * Wrapper around ICommands so they fit into the Sponge command system.
@@ -50,6 +51,7 @@ import java.util.List;
 public class MinecraftCommandWrapper implements CommandCallable {
     private static final String
                 TRANSLATION_NO_PERMISSION = "commands.generic.permission";
+    private static final Pattern SPACE_PATTERN = Pattern.compile(" +");
     private final ModContainer activeMod;
     private final ICommand command;
 
@@ -59,7 +61,7 @@ public class MinecraftCommandWrapper implements CommandCallable {
     }
 
     private String[] splitArgs(String arguments) {
-        return arguments.isEmpty() ? new String[0] : arguments.split(" +");
+        return arguments.isEmpty() ? new String[0] : SPACE_PATTERN.split(arguments);
     }
 
     @Override
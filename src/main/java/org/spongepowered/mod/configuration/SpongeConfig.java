@@ -92,6 +92,16 @@ public class SpongeConfig<T extends SpongeConfig.ConfigBase> {
     // MODULES
     public static final String MODULE_ENTITY_ACTIVATION_RANGE = "entity-activation-range";
 
+    // NETWORK
+    public static final String NETWORK_PING_LIMIT_ENABLED = "ping-limit-enabled";
+    public static final String NETWORK_PING_LIMIT_RATE = "ping-limit-rate";
+    public static final String NETWORK_PING_LIMIT_BURST = "ping-limit-burst";
+
+    // SQL
+    public static final String SQL_DEFAULT_POOL_SIZE = "default-pool-size";
+    public static final String SQL_POOL_SIZES = "pool-sizes";
+    public static final String SQL_IDLE_POOL_EXPIRY = "idle-pool-expiry";
+
     // WORLD
     public static final String WORLD_INFINITE_WATER_SOURCE = "infinite-water-source";
     public static final String WORLD_FLOWING_LAVA_DECAY = "flowing-lava-decay";
@@ -206,6 +216,9 @@ public class SpongeConfig<T extends SpongeConfig.ConfigBase> {
         @Setting(value = "modules")
         private ModuleCategory mixins = new ModuleCategory();
 
+        @Setting
+        private NetworkCategory network = new NetworkCategory();
+
         public SqlCategory getSql() {
             return this.sql;
         }
@@ -213,6 +226,10 @@ public class SpongeConfig<T extends SpongeConfig.ConfigBase> {
         public ModuleCategory getModules() {
             return this.mixins;
         }
+
+        public NetworkCategory getNetwork() {
+            return this.network;
+        }
     }
 
     public static class DimensionConfig extends ConfigBase {
@@ -287,10 +304,36 @@ public class SpongeConfig<T extends SpongeConfig.ConfigBase> {
     public static class SqlCategory extends Category {
         @Setting
         private Map<String, String> aliases = new HashMap<String, String>();
+        @Setting(value = SQL_DEFAULT_POOL_SIZE, comment = "Maximum connections per pool. 0 sizes pools from the number of processors")
+        private int defaultPoolSize = 0;
+        @Setting(value = SQL_POOL_SIZES, comment = "Maximum connections for the pools of specific aliases")
+        private Map<String, Integer> poolSizes = new HashMap<String, Integer>();
+        @Setting(value = SQL_IDLE_POOL_EXPIRY, comment = "Minutes an unused connection pool is kept open before it is closed")
+        private int idlePoolExpiry = 10;
 
         public Map<String, String> getAliases() {
             return this.aliases;
         }
+
+        public int getDefaultPoolSize() {
+            return this.defaultPoolSize;
+        }
+
+        public void setDefaultPoolSize(int defaultPoolSize) {
+            this.defaultPoolSize = defaultPoolSize;
+        }
+
+        public Map<String, Integer> getPoolSizes() {
+            return this.poolSizes;
+        }
+
+        public int getIdlePoolExpiry() {
+            return this.idlePoolExpiry;
+        }
+
+        public void setIdlePoolExpiry(int idlePoolExpiry) {
+            this.idlePoolExpiry = idlePoolExpiry;
+        }
     }
 
     @SuppressWarnings("UnusedDeclaration")
@@ -577,6 +620,41 @@ public class SpongeConfig<T extends SpongeConfig.ConfigBase> {
         }
     }
 
+    @ConfigSerializable
+    public static class NetworkCategory extends Category {
+
+        @Setting(value = NETWORK_PING_LIMIT_ENABLED, comment = "Limit the rate of server list pings accepted from a single address")
+        private boolean pingLimitEnabled = true;
+        @Setting(value = NETWORK_PING_LIMIT_RATE, comment = "Number of pings per second an address may send on average")
+        private double pingLimitRate = 2;
+        @Setting(value = NETWORK_PING_LIMIT_BURST, comment = "Number of pings an address may send at once before being limited")
+        private int pingLimitBurst = 20;
+
+        public boolean isPingLimitEnabled() {
+            return this.pingLimitEnabled;
+        }
+
+        public void setPingLimitEnabled(boolean pingLimitEnabled) {
+            this.pingLimitEnabled = pingLimitEnabled;
+        }
+
+        public double getPingLimitRate() {
+            return this.pingLimitRate;
+        }
+
+        public void setPingLimitRate(double pingLimitRate) {
+            this.pingLimitRate = pingLimitRate;
+        }
+
+        public int getPingLimitBurst() {
+            return this.pingLimitBurst;
+        }
+
+        public void setPingLimitBurst(int pingLimitBurst) {
+            this.pingLimitBurst = pingLimitBurst;
+        }
+    }
+
     @ConfigSerializable
     public static class WorldCategory extends Category {
 
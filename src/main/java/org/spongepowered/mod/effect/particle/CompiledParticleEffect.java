@@ -0,0 +1,129 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered.org <http://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.effect.particle;
+
+import com.flowpowered.math.vector.Vector3d;
+import com.google.common.collect.Lists;
+import net.minecraft.network.Packet;
+import net.minecraft.network.play.server.S2APacketParticles;
+import net.minecraft.util.EnumParticleTypes;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The packet parameters of a {@link SpongeParticleEffect}, computed once so
+ * the effect can be emitted at many positions with minimal work.
+ */
+public final class CompiledParticleEffect {
+
+    // Random is thread-safe and particles are almost always spawned on the main thread
+    private static final Random random = new Random();
+
+    static final CompiledParticleEffect EMPTY = new CompiledParticleEffect(null, null, 0, 0, 0, 0);
+
+    private final EnumParticleTypes type;
+    private final int[] extra;
+
+    private final float offsetX;
+    private final float offsetY;
+    private final float offsetZ;
+
+    // Only used if every particle needs its own packet
+    private final float valueX;
+    private final float valueY;
+    private final float valueZ;
+
+    private final int count;
+    private final boolean single;
+
+    CompiledParticleEffect(EnumParticleTypes type, int[] extra, double offsetX, double offsetY, double offsetZ, int count) {
+        this(type, extra, offsetX, offsetY, offsetZ, 0, 0, 0, count, true);
+    }
+
+    CompiledParticleEffect(EnumParticleTypes type, int[] extra, double offsetX, double offsetY, double offsetZ, double valueX, double valueY,
+            double valueZ, int count) {
+        this(type, extra, offsetX, offsetY, offsetZ, valueX, valueY, valueZ, count, false);
+    }
+
+    private CompiledParticleEffect(EnumParticleTypes type, int[] extra, double offsetX, double offsetY, double offsetZ, double valueX,
+            double valueY, double valueZ, int count, boolean single) {
+        this.type = type;
+        this.extra = extra;
+        this.offsetX = (float) offsetX;
+        this.offsetY = (float) offsetY;
+        this.offsetZ = (float) offsetZ;
+        this.valueX = (float) valueX;
+        this.valueY = (float) valueY;
+        this.valueZ = (float) valueZ;
+        this.count = count;
+        this.single = single;
+    }
+
+    public boolean isEmpty() {
+        return this.type == null;
+    }
+
+    /**
+     * Gets the list of packets that are needed to spawn the particle effect at
+     * the position.
+     *
+     * @param position The position
+     * @return The packets
+     */
+    public List<Packet> getPackets(Vector3d position) {
+        if (this.type == null) {
+            return Collections.emptyList();
+        }
+
+        float px = (float) position.getX();
+        float py = (float) position.getY();
+        float pz = (float) position.getZ();
+
+        if (this.single) {
+            return Collections.<Packet>singletonList(new S2APacketParticles(this.type, true, px, py, pz, this.offsetX, this.offsetY, this.offsetZ,
+                    0f, this.count, this.extra));
+        }
+
+        if (this.offsetX == 0f && this.offsetY == 0f && this.offsetZ == 0f) {
+            // All particles are the same, so the packet can be sent multiple times
+            return Collections.<Packet>nCopies(this.count, new S2APacketParticles(this.type, true, px, py, pz, this.valueX, this.valueY,
+                    this.valueZ, 1f, 0, this.extra));
+        }
+
+        List<Packet> packets = Lists.newArrayListWithCapacity(this.count);
+        for (int i = 0; i < this.count; i++) {
+            float px0 = px + (random.nextFloat() * 2f - 1f) * this.offsetX;
+            float py0 = py + (random.nextFloat() * 2f - 1f) * this.offsetY;
+            float pz0 = pz + (random.nextFloat() * 2f - 1f) * this.offsetZ;
+
+            packets.add(new S2APacketParticles(this.type, true, px0, py0, pz0, this.valueX, this.valueY, this.valueZ, 1f, 0, this.extra));
+        }
+
+        return packets;
+    }
+
+}
@@ -39,6 +39,8 @@ public class SpongeParticleEffect implements ParticleEffect {
 
     private int count;
 
+    private volatile CompiledParticleEffect compiledEffect;
+
     public SpongeParticleEffect(SpongeParticleType type, Vector3d motion, Vector3d offset, int count) {
         this.motion = motion;
         this.offset = offset;
@@ -66,6 +68,21 @@ public class SpongeParticleEffect implements ParticleEffect {
         return this.count;
     }
 
+    /**
+     * Gets the packet parameters of this effect. They are computed on the
+     * first call and reused afterwards, so later changes to the item of a
+     * material effect are not reflected.
+     *
+     * @return The compiled effect
+     */
+    public CompiledParticleEffect getCompiledEffect() {
+        CompiledParticleEffect compiledEffect = this.compiledEffect;
+        if (compiledEffect == null) {
+            this.compiledEffect = compiledEffect = SpongeParticleHelper.compile(this);
+        }
+        return compiledEffect;
+    }
+
     public static class Colored extends SpongeParticleEffect implements ParticleEffect.Colorable {
 
         private Color color;
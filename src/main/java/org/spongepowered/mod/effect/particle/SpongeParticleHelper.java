@@ -25,20 +25,19 @@
 package org.spongepowered.mod.effect.particle;
 
 import com.flowpowered.math.vector.Vector3d;
-import com.google.common.collect.Lists;
 import net.minecraft.block.Block;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.item.Item;
 import net.minecraft.network.Packet;
-import net.minecraft.network.play.server.S2APacketParticles;
 import net.minecraft.util.EnumParticleTypes;
 import org.spongepowered.api.item.ItemBlock;
 import org.spongepowered.api.item.ItemType;
 import org.spongepowered.api.item.inventory.ItemStack;
+import org.spongepowered.mod.interfaces.IMixinNetworkManager;
 
 import java.awt.Color;
-import java.util.Collections;
 import java.util.List;
-import java.util.Random;
 
 public final class SpongeParticleHelper {
 
@@ -52,6 +51,17 @@ public final class SpongeParticleHelper {
      * @return The packets
      */
     public static List<Packet> toPackets(SpongeParticleEffect effect, Vector3d position) {
+        return effect.getCompiledEffect().getPackets(position);
+    }
+
+    /**
+     * Computes the packet parameters of the particle effect, which are the
+     * same for every position it is spawned at.
+     *
+     * @param effect The particle effect
+     * @return The compiled effect
+     */
+    public static CompiledParticleEffect compile(SpongeParticleEffect effect) {
         SpongeParticleType type = effect.getType();
         EnumParticleTypes internal = type.getInternalType();
 
@@ -60,10 +70,6 @@ public final class SpongeParticleHelper {
         int count = effect.getCount();
         int[] extra = new int[0];
 
-        float px = (float) position.getX();
-        float py = (float) position.getY();
-        float pz = (float) position.getZ();
-
         double ox = offset.getX();
         double oy = offset.getY();
         double oz = offset.getZ();
@@ -95,7 +101,7 @@ public final class SpongeParticleHelper {
             }
 
             if (id == 0) {
-                return Collections.emptyList();
+                return CompiledParticleEffect.EMPTY;
             }
 
             extra = new int[] {id, data};
@@ -113,8 +119,7 @@ public final class SpongeParticleHelper {
             }
 
             if (size == 0f) {
-                return Lists.<Packet>newArrayList(new S2APacketParticles(internal, true, px, py, pz, (float) ox, (float) oy, (float) oz, 0f, count,
-                        extra));
+                return new CompiledParticleEffect(internal, extra, ox, oy, oz, count);
             }
 
             f0 = size;
@@ -123,8 +128,7 @@ public final class SpongeParticleHelper {
             Color color1 = ((SpongeParticleType.Colorable) type).getDefaultColor();
 
             if (color0.equals(color1)) {
-                return Lists.<Packet>newArrayList(new S2APacketParticles(internal, true, px, py, pz, (float) ox, (float) oy, (float) oz, 0f, count,
-                        extra));
+                return new CompiledParticleEffect(internal, extra, ox, oy, oz, count);
             }
 
             f0 = color0.getRed() / 255f;
@@ -139,8 +143,7 @@ public final class SpongeParticleHelper {
             float note = ((SpongeParticleEffect.Note) effect).getNote();
 
             if (note == 0f) {
-                return Lists.<Packet>newArrayList(new S2APacketParticles(internal, true, px, py, pz, (float) ox, (float) oy, (float) oz, 0f,
-                        count, extra));
+                return new CompiledParticleEffect(internal, extra, ox, oy, oz, count);
             }
 
             f0 = note / 24f;
@@ -157,8 +160,7 @@ public final class SpongeParticleHelper {
             }
 
             if (mx == 0f && my == 0f && mz == 0f) {
-                return Lists.<Packet>newArrayList(new S2APacketParticles(internal, true, px, py, pz, (float) ox, (float) oy, (float) oz, 0f, count,
-                        extra));
+                return new CompiledParticleEffect(internal, extra, ox, oy, oz, count);
             } else {
                 f0 = mx;
                 f1 = my;
@@ -168,30 +170,37 @@ public final class SpongeParticleHelper {
 
         // Is this check necessary?
         if (f0 == 0f && f1 == 0f && f2 == 0f) {
-            return Lists.<Packet>newArrayList(new S2APacketParticles(internal, true, px, py, pz, (float) ox, (float) oy, (float) oz, 0f, count,
-                    extra));
+            return new CompiledParticleEffect(internal, extra, ox, oy, oz, count);
         }
 
-        List<Packet> packets = Lists.newArrayList();
-
-        if (ox == 0f && oy == 0f && oz == 0f) {
-            for (int i = 0; i < count; i++) {
-                packets.add(new S2APacketParticles(internal, true, px, py, pz, (float) f0, (float) f1, (float) f2, 1f, 0, extra));
-            }
-        } else {
-            Random random = new Random();
-
-            for (int i = 0; i < count; i++) {
-                double px0 = (px + (random.nextFloat() * 2f - 1f) * ox);
-                double py0 = (py + (random.nextFloat() * 2f - 1f) * oy);
-                double pz0 = (pz + (random.nextFloat() * 2f - 1f) * oz);
+        return new CompiledParticleEffect(internal, extra, ox, oy, oz, f0, f1, f2, count);
+    }
 
-                packets.add(new S2APacketParticles(internal, true, (float) px0, (float) py0, (float) pz0, (float) f0, (float) f1, (float) f2, 1f, 0,
-                        extra));
+    /**
+     * Sends the packets to all players within the radius around the position.
+     * The recipients are selected once for all packets, and every player gets
+     * all packets in a single flush.
+     *
+     * @param players The players of the world
+     * @param packets The packets to send
+     * @param position The position of the particle effect
+     * @param radius The radius
+     */
+    public static void sendPackets(List<EntityPlayer> players, List<Packet> packets, Vector3d position, int radius) {
+        double x = position.getX();
+        double y = position.getY();
+        double z = position.getZ();
+        double radiusSquared = (double) radius * radius;
+
+        for (EntityPlayer player : players) {
+            if (player instanceof EntityPlayerMP && player.getDistanceSq(x, y, z) < radiusSquared) {
+                sendPackets((EntityPlayerMP) player, packets);
             }
         }
+    }
 
-        return packets;
+    public static void sendPackets(EntityPlayerMP player, List<Packet> packets) {
+        ((IMixinNetworkManager) player.playerNetServerHandler.netManager).sendPackets(packets);
     }
 
     private SpongeParticleHelper() {
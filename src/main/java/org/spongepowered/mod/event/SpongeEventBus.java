@@ -126,6 +126,20 @@ public class SpongeEventBus implements EventManager {
         return this.handlersCache.getUnchecked(type);
     }
 
+    /**
+     * Checks whether posting an event of the given type would call any
+     * handlers.
+     *
+     * <p>This can be used to skip constructing events on hot paths when
+     * nobody is listening for them.</p>
+     *
+     * @param type The event type
+     * @return Whether any handlers are registered for the type
+     */
+    public boolean hasHandlers(Class<?> type) {
+        return !getHandlerCache(type).getHandlers().isEmpty();
+    }
+
     @SuppressWarnings("unchecked")
     private List<Subscriber> findAllSubscribers(Object object) {
         List<Subscriber> subscribers = Lists.newArrayList();
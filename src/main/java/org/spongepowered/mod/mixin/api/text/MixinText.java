@@ -26,8 +26,11 @@ package org.spongepowered.mod.mixin.api.text;
 
 import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableList;
+import com.google.gson.stream.JsonWriter;
+import net.minecraft.network.play.server.S02PacketChat;
 import net.minecraft.util.ChatComponentStyle;
 import net.minecraft.util.ChatStyle;
+import net.minecraft.util.EnumChatFormatting;
 import net.minecraft.util.IChatComponent;
 import org.spongepowered.api.text.Text;
 import org.spongepowered.api.text.action.ClickAction;
@@ -38,15 +41,26 @@ import org.spongepowered.api.text.format.TextColors;
 import org.spongepowered.api.text.format.TextStyle;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
-import org.spongepowered.mod.text.SpongeChatComponent;
+import org.spongepowered.mod.interfaces.IMixinChatPacket;
 import org.spongepowered.mod.text.SpongeText;
 import org.spongepowered.mod.text.action.SpongeClickAction;
 import org.spongepowered.mod.text.action.SpongeHoverAction;
 import org.spongepowered.mod.text.format.SpongeTextColor;
 
+import java.io.IOException;
+import java.io.StringWriter;
+
+import javax.annotation.Nullable;
+
 @Mixin(value = Text.class, remap = false)
 public abstract class MixinText implements SpongeText {
 
+    private static final int BOLD = 1;
+    private static final int ITALIC = 2;
+    private static final int UNDERLINE = 4;
+    private static final int STRIKETHROUGH = 8;
+    private static final int OBFUSCATED = 16;
+
     @Shadow protected TextColor color;
     @Shadow protected TextStyle style;
     @Shadow protected ImmutableList<Text> children;
@@ -54,52 +68,58 @@ public abstract class MixinText implements SpongeText {
     @Shadow protected Optional<HoverAction<?>> hoverAction;
     @Shadow protected Optional<ShiftClickAction<?>> shiftClickAction;
 
-    private IChatComponent component;
+    private volatile IChatComponent component;
     private String json;
 
     protected ChatComponentStyle createComponent() {
         throw new UnsupportedOperationException();
     }
 
-    private void initializeComponent() {
-        if (this.component == null) {
-            this.component = createComponent();
-            ChatStyle style = this.component.getChatStyle();
+    private IChatComponent initializeComponent() {
+        ChatComponentStyle component = createComponent();
+        ChatStyle style = component.getChatStyle();
 
-            if (this.color != TextColors.NONE) {
-                style.setColor(((SpongeTextColor) this.color).getHandle());
-            }
+        if (this.color != TextColors.NONE) {
+            style.setColor(((SpongeTextColor) this.color).getHandle());
+        }
 
-            if (!this.style.isEmpty()) {
-                style.setBold(this.style.isBold().orNull());
-                style.setItalic(this.style.isItalic().orNull());
-                style.setUnderlined(this.style.hasUnderline().orNull());
-                style.setStrikethrough(this.style.hasStrikethrough().orNull());
-                style.setObfuscated(this.style.isObfuscated().orNull());
-            }
+        if (!this.style.isEmpty()) {
+            style.setBold(this.style.isBold().orNull());
+            style.setItalic(this.style.isItalic().orNull());
+            style.setUnderlined(this.style.hasUnderline().orNull());
+            style.setStrikethrough(this.style.hasStrikethrough().orNull());
+            style.setObfuscated(this.style.isObfuscated().orNull());
+        }
 
-            if (this.clickAction.isPresent()) {
-                style.setChatClickEvent(SpongeClickAction.getHandle(this.clickAction.get()));
-            }
+        if (this.clickAction.isPresent()) {
+            style.setChatClickEvent(SpongeClickAction.getHandle(this.clickAction.get()));
+        }
 
-            if (this.hoverAction.isPresent()) {
-                style.setChatHoverEvent(SpongeHoverAction.getHandle(this.hoverAction.get()));
-            }
+        if (this.hoverAction.isPresent()) {
+            style.setChatHoverEvent(SpongeHoverAction.getHandle(this.hoverAction.get()));
+        }
 
-            if (this.shiftClickAction.isPresent()) {
-                ShiftClickAction.InsertText insertion = (ShiftClickAction.InsertText) this.shiftClickAction.get();
-                style.setInsertion(insertion.getResult());
-            }
+        if (this.shiftClickAction.isPresent()) {
+            ShiftClickAction.InsertText insertion = (ShiftClickAction.InsertText) this.shiftClickAction.get();
+            style.setInsertion(insertion.getResult());
+        }
 
-            for (Text child : this.children) {
-                this.component.appendSibling(((SpongeText) child).toComponent());
-            }
+        for (Text child : this.children) {
+            // Appending a sibling changes its parent style, so the children need to be copied
+            component.appendSibling(((SpongeText) child).toComponent());
         }
+
+        return component;
     }
 
-    private IChatComponent getHandle() {
-        initializeComponent();
-        return this.component;
+    @Override
+    public IChatComponent getHandle() {
+        IChatComponent component = this.component;
+        if (component == null) {
+            // Only publish the component once it is complete, it may be shared with other threads
+            this.component = component = initializeComponent();
+        }
+        return component;
     }
 
     @Override
@@ -107,23 +127,178 @@ public abstract class MixinText implements SpongeText {
         return getHandle().createCopy(); // Mutable instances are not nice :(
     }
 
+    /**
+     * Returns the plain text of this text without its children.
+     */
+    protected String getUnformattedText() {
+        return createComponent().getUnformattedTextForChat();
+    }
+
+    /**
+     * Writes the content of this text (e.g. the "text" or "translate" key) to
+     * the JSON object.
+     */
+    protected void writeContent(JsonWriter out) throws IOException {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Writes this text as JSON primitive if it doesn't need a JSON object.
+     *
+     * @return Whether the text was written
+     */
+    protected boolean writePlain(JsonWriter out) throws IOException {
+        return false;
+    }
+
+    private boolean isUnformatted() {
+        return this.color == TextColors.NONE && this.style.isEmpty() && !this.clickAction.isPresent() && !this.hoverAction.isPresent()
+                && !this.shiftClickAction.isPresent();
+    }
+
+    @Override
+    public void writeJson(JsonWriter out) throws IOException {
+        if (this.children.isEmpty() && isUnformatted() && writePlain(out)) {
+            return;
+        }
+
+        // Same key order as IChatComponent.Serializer
+        out.beginObject();
+
+        if (!this.style.isEmpty()) {
+            writeStyle(out, "bold", this.style.isBold());
+            writeStyle(out, "italic", this.style.isItalic());
+            writeStyle(out, "underlined", this.style.hasUnderline());
+            writeStyle(out, "strikethrough", this.style.hasStrikethrough());
+            writeStyle(out, "obfuscated", this.style.isObfuscated());
+        }
+
+        if (this.color != TextColors.NONE) {
+            out.name("color").value(((SpongeTextColor) this.color).getHandle().getFriendlyName());
+        }
+
+        if (this.shiftClickAction.isPresent()) {
+            out.name("insertion").value(((ShiftClickAction.InsertText) this.shiftClickAction.get()).getResult());
+        }
+
+        if (this.clickAction.isPresent()) {
+            out.name("clickEvent");
+            SpongeClickAction.writeJson(out, this.clickAction.get());
+        }
+
+        if (this.hoverAction.isPresent()) {
+            out.name("hoverEvent");
+            SpongeHoverAction.writeJson(out, this.hoverAction.get());
+        }
+
+        if (!this.children.isEmpty()) {
+            out.name("extra").beginArray();
+            for (Text child : this.children) {
+                ((SpongeText) child).writeJson(out);
+            }
+            out.endArray();
+        }
+
+        writeContent(out);
+        out.endObject();
+    }
+
+    private static void writeStyle(JsonWriter out, String name, Optional<Boolean> value) throws IOException {
+        if (value.isPresent()) {
+            out.name(name).value(value.get());
+        }
+    }
+
+    @Override
+    public void appendPlain(StringBuilder builder) {
+        builder.append(getUnformattedText());
+        for (Text child : this.children) {
+            ((SpongeText) child).appendPlain(builder);
+        }
+    }
+
+    @Override
+    public void appendLegacy(StringBuilder builder, char code, @Nullable EnumChatFormatting parentColor, int parentStyles) {
+        EnumChatFormatting color = this.color != TextColors.NONE ? ((SpongeTextColor) this.color).getHandle() : parentColor;
+        int styles = parentStyles;
+        if (!this.style.isEmpty()) {
+            styles = applyStyle(styles, BOLD, this.style.isBold());
+            styles = applyStyle(styles, ITALIC, this.style.isItalic());
+            styles = applyStyle(styles, UNDERLINE, this.style.hasUnderline());
+            styles = applyStyle(styles, STRIKETHROUGH, this.style.hasStrikethrough());
+            styles = applyStyle(styles, OBFUSCATED, this.style.isObfuscated());
+        }
+
+        if (color != null) {
+            builder.append(code).append(color.formattingCode);
+        }
+        if ((styles & BOLD) != 0) {
+            builder.append(code).append(EnumChatFormatting.BOLD.formattingCode);
+        }
+        if ((styles & ITALIC) != 0) {
+            builder.append(code).append(EnumChatFormatting.ITALIC.formattingCode);
+        }
+        if ((styles & UNDERLINE) != 0) {
+            builder.append(code).append(EnumChatFormatting.UNDERLINE.formattingCode);
+        }
+        if ((styles & OBFUSCATED) != 0) {
+            builder.append(code).append(EnumChatFormatting.OBFUSCATED.formattingCode);
+        }
+        if ((styles & STRIKETHROUGH) != 0) {
+            builder.append(code).append(EnumChatFormatting.STRIKETHROUGH.formattingCode);
+        }
+
+        builder.append(getUnformattedText());
+        builder.append(code).append(EnumChatFormatting.RESET.formattingCode);
+
+        for (Text child : this.children) {
+            ((SpongeText) child).appendLegacy(builder, code, color, styles);
+        }
+    }
+
+    private static int applyStyle(int styles, int flag, Optional<Boolean> value) {
+        if (value.isPresent()) {
+            return value.get() ? styles | flag : styles & ~flag;
+        }
+        return styles;
+    }
+
     @Override
     public String toPlain() {
-        return ((SpongeChatComponent) getHandle()).toPlain();
+        StringBuilder builder = new StringBuilder();
+        appendPlain(builder);
+        return builder.toString();
     }
 
     @Override
     public String toJson() {
         if (this.json == null) {
-            this.json = IChatComponent.Serializer.componentToJson(getHandle());
+            StringWriter writer = new StringWriter();
+            JsonWriter out = new JsonWriter(writer);
+            out.setLenient(true); // Plain texts are written as top-level JSON string
+            try {
+                writeJson(out);
+            } catch (IOException e) {
+                throw new AssertionError(e); // StringWriter doesn't throw
+            }
+            this.json = writer.toString();
         }
 
         return this.json;
     }
 
+    @Override
+    public S02PacketChat toPacket(byte type) {
+        S02PacketChat packet = new S02PacketChat(getHandle(), type);
+        ((IMixinChatPacket) packet).setSerializedComponent(toJson());
+        return packet;
+    }
+
     @Override
     public String toLegacy(char code) {
-        return ((SpongeChatComponent) getHandle()).toLegacy(code);
+        StringBuilder builder = new StringBuilder();
+        appendLegacy(builder, code, null, 0);
+        return builder.toString();
     }
 
 }
@@ -24,12 +24,15 @@
  */
 package org.spongepowered.mod.mixin.api.text;
 
+import com.google.gson.stream.JsonWriter;
 import net.minecraft.util.ChatComponentStyle;
 import net.minecraft.util.ChatComponentText;
 import org.spongepowered.api.text.Text;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 
+import java.io.IOException;
+
 @Mixin(value = Text.Literal.class, remap = false)
 public abstract class MixinTextLiteral extends MixinText {
 
@@ -40,4 +43,20 @@ public abstract class MixinTextLiteral extends MixinText {
         return new ChatComponentText(this.content);
     }
 
+    @Override
+    protected String getUnformattedText() {
+        return this.content;
+    }
+
+    @Override
+    protected void writeContent(JsonWriter out) throws IOException {
+        out.name("text").value(this.content);
+    }
+
+    @Override
+    protected boolean writePlain(JsonWriter out) throws IOException {
+        out.value(this.content);
+        return true;
+    }
+
 }
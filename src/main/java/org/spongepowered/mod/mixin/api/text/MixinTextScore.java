@@ -25,12 +25,15 @@
 package org.spongepowered.mod.mixin.api.text;
 
 import com.google.common.base.Optional;
+import com.google.gson.stream.JsonWriter;
 import net.minecraft.util.ChatComponentScore;
 import net.minecraft.util.ChatComponentStyle;
 import org.spongepowered.api.text.Text;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 
+import java.io.IOException;
+
 @Mixin(value = Text.Score.class, remap = false)
 public abstract class MixinTextScore extends MixinText {
 
@@ -45,4 +48,14 @@ public abstract class MixinTextScore extends MixinText {
         }
         return component;
     }
+
+    @Override
+    protected void writeContent(JsonWriter out) throws IOException {
+        out.name("score").beginObject();
+        // The component has no name and objective yet either (see createComponent),
+        // and vanilla leaves out null properties, so the JSON is the same
+        out.name("value").value(getUnformattedText());
+        out.endObject();
+    }
+
 }
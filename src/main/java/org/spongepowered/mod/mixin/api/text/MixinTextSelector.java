@@ -24,12 +24,15 @@
  */
 package org.spongepowered.mod.mixin.api.text;
 
+import com.google.gson.stream.JsonWriter;
 import net.minecraft.util.ChatComponentSelector;
 import net.minecraft.util.ChatComponentStyle;
 import org.spongepowered.api.text.Text;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 
+import java.io.IOException;
+
 @Mixin(value = Text.Selector.class, remap = false)
 public abstract class MixinTextSelector extends MixinText {
 
@@ -39,4 +42,15 @@ public abstract class MixinTextSelector extends MixinText {
     protected ChatComponentStyle createComponent() {
         return new ChatComponentSelector(this.selector.toPlain());
     }
+
+    @Override
+    protected String getUnformattedText() {
+        return this.selector.toPlain();
+    }
+
+    @Override
+    protected void writeContent(JsonWriter out) throws IOException {
+        out.name("selector").value(this.selector.toPlain());
+    }
+
 }
@@ -25,6 +25,7 @@
 package org.spongepowered.mod.mixin.api.text;
 
 import com.google.common.collect.ImmutableList;
+import com.google.gson.stream.JsonWriter;
 import net.minecraft.util.ChatComponentStyle;
 import net.minecraft.util.ChatComponentTranslation;
 import org.spongepowered.api.text.Text;
@@ -33,6 +34,8 @@ import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.mod.text.SpongeText;
 
+import java.io.IOException;
+
 @Mixin(value = Text.Translatable.class, remap = false)
 public abstract class MixinTextTranslatable extends MixinText {
 
@@ -44,6 +47,23 @@ public abstract class MixinTextTranslatable extends MixinText {
         return new ChatComponentTranslation(this.translation.getId(), unwrapArguments(this.arguments));
     }
 
+    @Override
+    protected void writeContent(JsonWriter out) throws IOException {
+        out.name("translate").value(this.translation.getId());
+
+        if (!this.arguments.isEmpty()) {
+            out.name("with").beginArray();
+            for (Object arg : this.arguments) {
+                if (arg instanceof SpongeText) {
+                    ((SpongeText) arg).writeJson(out);
+                } else {
+                    out.value(String.valueOf(arg));
+                }
+            }
+            out.endArray();
+        }
+    }
+
     private Object[] unwrapArguments(ImmutableList<Object> args) {
         Object[] ret = new Object[args.size()];
         for (int i = 0; i < args.size(); ++i) {
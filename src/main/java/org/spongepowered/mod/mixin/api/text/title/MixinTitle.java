@@ -31,6 +31,7 @@ import org.spongepowered.api.text.Text;
 import org.spongepowered.api.text.title.Title;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.mod.interfaces.IMixinChatPacket;
 import org.spongepowered.mod.text.SpongeText;
 import org.spongepowered.mod.text.title.SpongeTitle;
 
@@ -65,10 +66,10 @@ public abstract class MixinTitle implements SpongeTitle {
                 packets[i++] = new S45PacketTitle(this.fadeIn.or(20), this.stay.or(60), this.fadeOut.or(20));
             }
             if (this.subtitle.isPresent()) {
-                packets[i++] = new S45PacketTitle(S45PacketTitle.Type.SUBTITLE, ((SpongeText) this.subtitle.get()).toComponent());
+                packets[i++] = createPacket(S45PacketTitle.Type.SUBTITLE, (SpongeText) this.subtitle.get());
             }
             if (this.title.isPresent()) {
-                packets[i++] = new S45PacketTitle(S45PacketTitle.Type.TITLE, ((SpongeText) this.title.get()).toComponent());
+                packets[i++] = createPacket(S45PacketTitle.Type.TITLE, (SpongeText) this.title.get());
             }
 
             this.packets = i == packets.length ? packets : Arrays.copyOf(packets, i);
@@ -78,4 +79,11 @@ public abstract class MixinTitle implements SpongeTitle {
             player.playerNetServerHandler.sendPacket(packet);
         }
     }
+
+    private S45PacketTitle createPacket(S45PacketTitle.Type type, SpongeText text) {
+        S45PacketTitle packet = new S45PacketTitle(type, text.getHandle());
+        // The packets are reused for every player, so serialize the text only once
+        ((IMixinChatPacket) packet).setSerializedComponent(text.toJson());
+        return packet;
+    }
 }
@@ -33,7 +33,6 @@ import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.network.NetHandlerPlayServer;
 import net.minecraft.network.Packet;
-import net.minecraft.network.play.server.S02PacketChat;
 import net.minecraft.world.World;
 import org.apache.commons.lang3.LocaleUtils;
 import org.spongepowered.api.GameProfile;
@@ -120,13 +119,13 @@ public abstract class MixinEntityPlayerMP extends EntityPlayer implements Comman
 
     public void playermp$sendMessage(ChatType type, Text... messages) {
         for (Text text : messages) {
-            this.playerNetServerHandler.sendPacket(new S02PacketChat(((SpongeText) text).toComponent(), ((SpongeChatType) type).getId()));
+            this.playerNetServerHandler.sendPacket(((SpongeText) text).toPacket(((SpongeChatType) type).getId()));
         }
     }
 
     public void playermp$sendMessage(ChatType type, Iterable<Text> messages) {
         for (Text text : messages) {
-            this.playerNetServerHandler.sendPacket(new S02PacketChat(((SpongeText) text).toComponent(), ((SpongeChatType) type).getId()));
+            this.playerNetServerHandler.sendPacket(((SpongeText) text).toPacket(((SpongeChatType) type).getId()));
         }
     }
 
@@ -158,10 +157,8 @@ public abstract class MixinEntityPlayerMP extends EntityPlayer implements Comman
             double dy = this.posY - position.getY();
             double dz = this.posZ - position.getZ();
 
-            if (dx * dx + dy * dy + dz * dz < radius * radius) {
-                for (Packet packet : packets) {
-                    this.playerNetServerHandler.sendPacket(packet);
-                }
+            if (dx * dx + dy * dy + dz * dz < (double) radius * radius) {
+                SpongeParticleHelper.sendPackets((EntityPlayerMP) (Object) this, packets);
             }
         }
     }
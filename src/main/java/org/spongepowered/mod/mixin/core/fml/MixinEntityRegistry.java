@@ -107,8 +107,7 @@ public abstract class MixinEntityRegistry implements SpongeEntityRegistry {
         }
         //entityName = modId + "-" + entityName;
         SpongeEntityType entityType = new SpongeEntityType(id, entityName, modId, entityClass);
-        this.gameRegistry.entityClassToTypeMappings.put(entityClass, entityType);
-        this.gameRegistry.entityIdToTypeMappings.put(entityType.getId(), entityType);
+        this.gameRegistry.registerEntityType(entityType);
     }
 
 }
@@ -37,6 +37,7 @@ import org.spongepowered.api.Server;
 import org.spongepowered.api.entity.player.Player;
 import org.spongepowered.api.service.permission.PermissionService;
 import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.chat.ChatTypes;
 import org.spongepowered.api.util.Tristate;
 import org.spongepowered.api.util.annotation.NonnullByDefault;
 import org.spongepowered.api.util.command.source.ConsoleSource;
@@ -48,6 +49,7 @@ import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.mod.interfaces.Subjectable;
 import org.spongepowered.mod.text.SpongeText;
+import org.spongepowered.mod.text.chat.SpongeChatType;
 
 import java.net.InetSocketAddress;
 import java.util.ArrayList;
@@ -124,7 +126,10 @@ public abstract class MixinMinecraftServer implements Server, ConsoleSource, Sub
     @SuppressWarnings("rawtypes")
     @Override
     public void broadcastMessage(Text message) {
-        getConfigurationManager().sendChatMsg(((SpongeText) message).toComponent());
+        // Same as ServerConfigurationManager.sendChatMsg, but the text is serialized only once for all players
+        SpongeText text = (SpongeText) message;
+        addChatMessage(text.getHandle());
+        getConfigurationManager().sendPacketToAllPlayers(text.toPacket(((SpongeChatType) ChatTypes.SYSTEM).getId()));
     }
 
     @Override
@@ -181,14 +186,14 @@ public abstract class MixinMinecraftServer implements Server, ConsoleSource, Sub
     @Override
     public void sendMessage(Text... messages) {
         for (Text message : messages) {
-            addChatMessage(((SpongeText) message).toComponent());
+            addChatMessage(((SpongeText) message).getHandle());
         }
     }
 
     @Override
     public void sendMessage(Iterable<Text> messages) {
         for (Text message : messages) {
-            addChatMessage(((SpongeText) message).toComponent());
+            addChatMessage(((SpongeText) message).getHandle());
         }
     }
 
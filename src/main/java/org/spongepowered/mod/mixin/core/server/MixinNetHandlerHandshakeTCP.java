@@ -24,6 +24,7 @@
  */
 package org.spongepowered.mod.mixin.core.server;
 
+import net.minecraft.network.EnumConnectionState;
 import net.minecraft.network.NetworkManager;
 import net.minecraft.network.handshake.client.C00Handshake;
 import net.minecraft.server.network.NetHandlerHandshakeTCP;
@@ -33,6 +34,7 @@ import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.mod.server.ConnectionInfo;
+import org.spongepowered.mod.status.PingRateLimiter;
 
 @Mixin(NetHandlerHandshakeTCP.class)
 public abstract class MixinNetHandlerHandshakeTCP {
@@ -40,9 +42,17 @@ public abstract class MixinNetHandlerHandshakeTCP {
     @Shadow
     private NetworkManager networkManager;
 
-    @Inject(method = "processHandshake", at = @At("HEAD"))
+    @Inject(method = "processHandshake", at = @At("HEAD"), cancellable = true)
     public void onProcessHandshake(C00Handshake packetIn, CallbackInfo ci) {
         ConnectionInfo info = (ConnectionInfo) this.networkManager;
+        if (packetIn.getRequestedState() == EnumConnectionState.STATUS
+                && !PingRateLimiter.getInstance().tryAcquire(info.getAddress().getAddress())) {
+            // Don't even create a status handler for clients sending too many pings
+            this.networkManager.closeChannel(null);
+            ci.cancel();
+            return;
+        }
+
         info.setVersion(packetIn.getProtocolVersion());
         info.setVirtualHost(packetIn.ip, packetIn.port);
     }
@@ -24,24 +24,42 @@
  */
 package org.spongepowered.mod.mixin.core.server;
 
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.SimpleChannelInboundHandler;
 import net.minecraft.network.NetworkManager;
+import net.minecraft.network.Packet;
 import org.spongepowered.api.MinecraftVersion;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.mod.SpongeMinecraftVersion;
+import org.spongepowered.mod.interfaces.IMixinNetworkManager;
 import org.spongepowered.mod.server.ConnectionInfo;
 
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
+import java.util.List;
 
 @SuppressWarnings("rawtypes")
 @Mixin(NetworkManager.class)
-public abstract class MixinNetworkManager extends SimpleChannelInboundHandler implements ConnectionInfo {
+public abstract class MixinNetworkManager extends SimpleChannelInboundHandler implements ConnectionInfo, IMixinNetworkManager {
+
+    @Shadow
+    private Channel channel;
 
     @Shadow
     public abstract SocketAddress getRemoteAddress();
 
+    @Shadow
+    public abstract boolean isChannelOpen();
+
+    @Shadow
+    public abstract void sendPacket(Packet packetIn);
+
+    @Shadow
+    private void flushOutboundQueue() {
+    }
+
     private InetSocketAddress virtualHost;
     private MinecraftVersion version;
 
@@ -69,4 +87,21 @@ public abstract class MixinNetworkManager extends SimpleChannelInboundHandler im
     public void setVersion(int version) {
         this.version = new SpongeMinecraftVersion(String.valueOf(version), version);
     }
+
+    @Override
+    public void sendPackets(List<Packet> packets) {
+        if (packets.size() == 1 || !isChannelOpen()) {
+            // Let vanilla handle queueing the packets until the channel is open
+            for (Packet packet : packets) {
+                sendPacket(packet);
+            }
+            return;
+        }
+
+        flushOutboundQueue();
+        for (Packet packet : packets) {
+            this.channel.write(packet).addListener(ChannelFutureListener.FIRE_EXCEPTION_ON_FAILURE);
+        }
+        this.channel.flush();
+    }
 }
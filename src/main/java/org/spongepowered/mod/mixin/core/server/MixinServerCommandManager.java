@@ -47,6 +47,7 @@ import org.spongepowered.api.util.command.CommandException;
 import org.spongepowered.api.util.command.CommandSource;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.mod.SpongeMod;
+import org.spongepowered.mod.command.CommandSuggestionCache;
 import org.spongepowered.mod.command.MinecraftCommandWrapper;
 import org.spongepowered.mod.service.permission.SpongePermissionService;
 
@@ -116,6 +117,7 @@ public abstract class MixinServerCommandManager extends CommandHandler implement
             SpongeMod.instance.getGame().getCommandDispatcher().register(cmd.getMod(), cmd, cmd.getNames());
             registerDefaultPermissions(SpongeMod.instance.getGame(), cmd);
         }
+        CommandSuggestionCache.getInstance().clear();
         return super.registerCommand(command);
     }
 
@@ -159,10 +161,15 @@ public abstract class MixinServerCommandManager extends CommandHandler implement
     @Override
     @SuppressWarnings("rawtypes")
     public List getTabCompletionOptions(ICommandSender sender, String input, BlockPos pos) {
+        List<String> suggestions = CommandSuggestionCache.getInstance().get(sender, input);
+        if (suggestions != null) {
+            return suggestions;
+        }
+
         CommandService service = SpongeMod.instance.getGame().getCommandDispatcher();
         CommandSource source = (CommandSource) sender;
         try {
-            return service.getSuggestions(source, input);
+            return CommandSuggestionCache.getInstance().put(sender, input, service.getSuggestions(source, input));
         } catch (CommandException e) {
             source.sendMessage(Texts.of(TextColors.RED, e.getMessage()));
             return Collections.emptyList();
@@ -47,6 +47,12 @@ public abstract class MixinNetHandlerStatusServer {
 
     @Overwrite
     public void processServerQuery(C00PacketServerQuery packetIn) {
+        if (!SpongeStatusResponse.hasListeners()) {
+            // Nobody can modify the response, so we can send the same (already serialized) packet to everyone
+            this.networkManager.sendPacket(SpongeStatusResponse.getCachedPacket(this.server));
+            return;
+        }
+
         // Clone the response
         ServerStatusResponse response = SpongeStatusResponse.post(this.server, new SpongeStatusClient(this.networkManager));
         if (response != null) {
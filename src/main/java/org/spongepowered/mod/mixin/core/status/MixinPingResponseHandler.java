@@ -30,12 +30,11 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import net.minecraft.network.NetworkSystem;
 import net.minecraft.network.PingResponseHandler;
-import net.minecraft.network.ServerStatusResponse;
-import net.minecraft.server.MinecraftServer;
 import org.apache.logging.log4j.Logger;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Overwrite;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.mod.status.PingRateLimiter;
 import org.spongepowered.mod.status.SpongeLegacyMinecraftVersion;
 import org.spongepowered.mod.status.SpongeStatusResponse;
 
@@ -51,12 +50,7 @@ public abstract class MixinPingResponseHandler extends ChannelInboundHandlerAdap
     private NetworkSystem networkSystem;
 
     private ByteBuf buf;
-
-    @Shadow
-    abstract void writeAndFlush(ChannelHandlerContext ctx, ByteBuf data);
-
-    @Shadow
-    abstract ByteBuf getStringBuffer(String string);
+    private boolean responding;
 
     @Override
     public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
@@ -75,6 +69,12 @@ public abstract class MixinPingResponseHandler extends ChannelInboundHandlerAdap
     @Overwrite
     public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
         ByteBuf m = (ByteBuf) msg;
+        if (this.responding) {
+            // The response is written asynchronously, the client shouldn't send anything else in the meantime
+            m.release();
+            return;
+        }
+
         this.buf.writeBytes(m);
         m.release();
 
@@ -100,25 +100,13 @@ public abstract class MixinPingResponseHandler extends ChannelInboundHandlerAdap
             return false;
         }
 
-        MinecraftServer server = this.networkSystem.getServer();
         InetSocketAddress client = (InetSocketAddress) ctx.channel().remoteAddress();
-        ServerStatusResponse response;
 
         int i = buf.readableBytes();
         switch (i) {
             case 0:
                 logger.debug("Ping: (<=1.3) from {}:{}", client.getAddress(), client.getPort());
-
-                response = SpongeStatusResponse.postLegacy(server, client, SpongeLegacyMinecraftVersion.V1_3, null);
-                if (response != null) {
-                    this.writeResponse(ctx, String.format("%s§%d§%d",
-                            SpongeStatusResponse.getUnformattedMotd(response),
-                            response.getPlayerCountData().getOnlinePlayerCount(),
-                            response.getPlayerCountData().getMaxPlayers()));
-                } else {
-                    ctx.close();
-                }
-
+                respond(ctx, client, SpongeLegacyMinecraftVersion.V1_3, null);
                 break;
             case 1:
                 if (buf.readUnsignedByte() != 0x01) {
@@ -126,19 +114,7 @@ public abstract class MixinPingResponseHandler extends ChannelInboundHandlerAdap
                 }
 
                 logger.debug("Ping: (1.4-1.5) from {}:{}", client.getAddress(), client.getPort());
-
-                response = SpongeStatusResponse.postLegacy(server, client, SpongeLegacyMinecraftVersion.V1_5, null);
-                if (response != null) {
-                    this.writeResponse(ctx, String.format("§1\u0000%d\u0000%s\u0000%s\u0000%d\u0000%d",
-                            response.getProtocolVersionInfo().getProtocol(),
-                            response.getProtocolVersionInfo().getName(),
-                            SpongeStatusResponse.getMotd(response),
-                            response.getPlayerCountData().getOnlinePlayerCount(),
-                            response.getPlayerCountData().getMaxPlayers()));
-                } else {
-                    ctx.close();
-                }
-
+                respond(ctx, client, SpongeLegacyMinecraftVersion.V1_5, null);
                 break;
             default:
                 if (buf.readUnsignedByte() != 0x01 || buf.readUnsignedByte() != 0xFA) {
@@ -151,9 +127,10 @@ public abstract class MixinPingResponseHandler extends ChannelInboundHandlerAdap
                 if (!buf.isReadable(length * 2)) {
                     break;
                 }
-                if (!buf.readBytes(length * 2).toString(Charsets.UTF_16BE).equals("MC|PingHost")) {
+                if (!buf.toString(buf.readerIndex(), length * 2, Charsets.UTF_16BE).equals("MC|PingHost")) {
                     return false;
                 }
+                buf.skipBytes(length * 2);
                 if (!buf.isReadable(2)) {
                     break;
                 }
@@ -164,34 +141,28 @@ public abstract class MixinPingResponseHandler extends ChannelInboundHandlerAdap
 
                 int protocol = buf.readUnsignedByte();
                 length = buf.readShort();
-                String host = buf.readBytes(length * 2).toString(Charsets.UTF_16BE);
+                String host = buf.toString(buf.readerIndex(), length * 2, Charsets.UTF_16BE);
+                buf.skipBytes(length * 2);
                 int port = buf.readInt();
 
                 logger.debug("Ping: (1.6) from {}:{}", client.getAddress(), client.getPort());
-
-                response =
-                        SpongeStatusResponse.postLegacy(server, client,
-                                new SpongeLegacyMinecraftVersion(SpongeLegacyMinecraftVersion.V1_6, protocol),
-                                InetSocketAddress.createUnresolved(host, port));
-                if (response != null) {
-                    this.writeResponse(ctx, String.format("§1\u0000%d\u0000%s\u0000%s\u0000%d\u0000%d",
-                            response.getProtocolVersionInfo().getProtocol(),
-                            response.getProtocolVersionInfo().getName(),
-                            SpongeStatusResponse.getMotd(response),
-                            response.getPlayerCountData().getOnlinePlayerCount(),
-                            response.getPlayerCountData().getMaxPlayers()));
-                } else {
-                    ctx.close();
-                }
-
+                respond(ctx, client, new SpongeLegacyMinecraftVersion(SpongeLegacyMinecraftVersion.V1_6, protocol),
+                        InetSocketAddress.createUnresolved(host, port));
                 break;
         }
 
         return true;
     }
 
-    private void writeResponse(ChannelHandlerContext ctx, String response) {
-        writeAndFlush(ctx, getStringBuffer(response));
+    private void respond(ChannelHandlerContext ctx, InetSocketAddress client, SpongeLegacyMinecraftVersion version,
+            InetSocketAddress virtualHost) {
+        this.responding = true;
+        if (!PingRateLimiter.getInstance().tryAcquire(client.getAddress())) {
+            ctx.close();
+            return;
+        }
+
+        SpongeStatusResponse.respondLegacy(ctx, this.networkSystem.getServer(), client, version, virtualHost);
     }
 
 }
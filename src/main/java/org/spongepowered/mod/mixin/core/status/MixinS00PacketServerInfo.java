@@ -0,0 +1,61 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered.org <http://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.mixin.core.status;
+
+import com.google.gson.Gson;
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.network.ServerStatusResponse;
+import net.minecraft.network.status.server.S00PacketServerInfo;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Overwrite;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.mod.status.SpongeStatusResponse;
+
+import java.io.IOException;
+
+@Mixin(S00PacketServerInfo.class)
+public abstract class MixinS00PacketServerInfo {
+
+    @Shadow
+    private static Gson GSON;
+
+    @Shadow
+    private ServerStatusResponse response;
+
+    // The same packet may be sent to many clients, so keep the serialized response
+    private volatile byte[] serialized;
+
+    @Overwrite
+    public void writePacketData(PacketBuffer buf) throws IOException {
+        byte[] serialized = this.serialized;
+        if (serialized == null) {
+            this.serialized = serialized = SpongeStatusResponse.serialize(GSON, this.response);
+        }
+
+        buf.writeVarIntToBuffer(serialized.length);
+        buf.writeBytes(serialized);
+    }
+
+}
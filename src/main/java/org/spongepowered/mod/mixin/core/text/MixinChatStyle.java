@@ -85,7 +85,7 @@ public abstract class MixinChatStyle implements SpongeChatStyle {
             }
 
             if (getObfuscated()) {
-                buf[i++] = EnumChatFormatting.STRIKETHROUGH.formattingCode;
+                buf[i++] = EnumChatFormatting.OBFUSCATED.formattingCode;
             }
 
             if (getStrikethrough()) {
@@ -32,10 +32,9 @@ import com.flowpowered.math.vector.Vector3d;
 import com.flowpowered.math.vector.Vector3i;
 import com.google.common.base.Optional;
 import com.google.common.base.Predicate;
+import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.network.Packet;
 import net.minecraft.profiler.Profiler;
-import net.minecraft.server.MinecraftServer;
-import net.minecraft.server.management.ServerConfigurationManager;
 import net.minecraft.util.BlockPos;
 import net.minecraft.world.GameRules;
 import net.minecraft.world.WorldProvider;
@@ -106,6 +105,9 @@ public abstract class MixinWorld implements World, IMixinWorld {
     @Shadow
     public List<net.minecraft.entity.Entity> loadedEntityList;
 
+    @Shadow
+    public List<EntityPlayer> playerEntities;
+
     @Shadow(prefix = "shadow$")
     public abstract net.minecraft.world.border.WorldBorder shadow$getWorldBorder();
 
@@ -325,15 +327,7 @@ public abstract class MixinWorld implements World, IMixinWorld {
         List<Packet> packets = SpongeParticleHelper.toPackets((SpongeParticleEffect) particleEffect, position);
 
         if (!packets.isEmpty()) {
-            ServerConfigurationManager manager = MinecraftServer.getServer().getConfigurationManager();
-
-            double x = position.getX();
-            double y = position.getY();
-            double z = position.getZ();
-
-            for (Packet packet : packets) {
-                manager.sendToAllNear(x, y, z, radius, this.provider.getDimensionId(), packet);
-            }
+            SpongeParticleHelper.sendPackets(this.playerEntities, packets, position, radius);
         }
     }
 
@@ -26,42 +26,62 @@
 package org.spongepowered.mod.registry;
 
 import com.google.common.base.Function;
+import com.google.common.base.Joiner;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.apache.logging.log4j.Logger;
+import org.spongepowered.mod.SpongeMod;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.Nullable;
 
 class RegistryHelper {
 
+    // The static fields of each API class are only looked up once, also for classes only used for factories
+    private static final LoadingCache<Class<?>, CatalogFields> catalogs = CacheBuilder.newBuilder().build(new CacheLoader<Class<?>, CatalogFields>() {
+
+        @Override
+        public CatalogFields load(Class<?> apiClass) {
+            return new CatalogFields(apiClass);
+        }
+    });
+
     public static boolean mapFields(Class<?> apiClass, Map<String, ?> mapping, Collection<String> ignoredFields) {
+        CatalogFields catalog = getCatalog(apiClass);
         boolean mappingSuccess = true;
-        for (Field f : apiClass.getDeclaredFields()) {
-            if (ignoredFields.contains(f.getName())) {
+        for (String name : catalog.getFieldNames()) {
+            if (ignoredFields.contains(name) || !mapping.containsKey(name)) {
                 continue;
             }
-            try {
-                if (!mapping.containsKey(f.getName())) {
-                    continue;
-                }
-                f.set(null, mapping.get(f.getName()));
-            } catch (Exception e) {
-                e.printStackTrace();
-                mappingSuccess = false;
-            }
+            mappingSuccess &= catalog.set(name, mapping.get(name));
         }
         return mappingSuccess;
     }
 
     public static boolean mapFields(Class<?> apiClass, Function<String, ?> mapFunction) {
+        CatalogFields catalog = getCatalog(apiClass);
         boolean mappingSuccess = true;
-        for (Field f : apiClass.getDeclaredFields()) {
+        for (String name : catalog.getFieldNames()) {
+            Object value;
             try {
-                f.set(null, mapFunction.apply(f.getName()));
+                value = mapFunction.apply(name);
             } catch (Exception e) {
-                e.printStackTrace();
+                catalog.fail(name, e);
                 mappingSuccess = false;
+                continue;
             }
+            mappingSuccess &= catalog.set(name, value);
         }
         return mappingSuccess;
     }
@@ -70,13 +90,110 @@ class RegistryHelper {
         return mapFields(apiClass, mapping, Collections.<String>emptyList());
     }
 
+    /**
+     * Sets a single field of an API class, for catalogs whose entries are
+     * created one by one rather than mapped from a map or function.
+     *
+     * @param apiClass The API class
+     * @param name The name of the field
+     * @param value The new value
+     * @return Whether the field was set
+     */
+    public static boolean bind(Class<?> apiClass, String name, @Nullable Object value) {
+        return getCatalog(apiClass).set(name, value);
+    }
+
     public static boolean setFactory(Class<?> apiClass, Object factory) {
-        try {
-            apiClass.getDeclaredField("factory").set(null, factory);
+        return catalogs.getUnchecked(apiClass).set("factory", factory);
+    }
+
+    /**
+     * Logs how many fields of each catalog class have been mapped to a
+     * value. Unmapped fields are left as null in the API.
+     *
+     * @param logger The logger to use
+     */
+    public static void logCoverage(Logger logger) {
+        int fields = 0;
+        int mapped = 0;
+        for (CatalogFields catalog : catalogs.asMap().values()) {
+            if (!catalog.isCatalog()) {
+                continue;
+            }
+            Set<String> unmapped = catalog.getUnmapped();
+            fields += catalog.getFieldNames().size();
+            mapped += catalog.getFieldNames().size() - unmapped.size();
+            if (!unmapped.isEmpty()) {
+                logger.debug("{}: {} of {} fields unmapped: {}", catalog.apiClass.getSimpleName(), unmapped.size(),
+                        catalog.getFieldNames().size(), Joiner.on(", ").join(unmapped));
+            }
+        }
+        logger.info("Mapped {} of {} API catalog fields", mapped, fields);
+    }
+
+    private static CatalogFields getCatalog(Class<?> apiClass) {
+        CatalogFields catalog = catalogs.getUnchecked(apiClass);
+        catalog.catalog = true;
+        return catalog;
+    }
+
+    private static final class CatalogFields {
+
+        final Class<?> apiClass;
+        private final ImmutableMap<String, Field> fields;
+        private final Set<String> mapped = Collections.synchronizedSet(Sets.<String>newHashSet());
+        volatile boolean catalog;
+
+        CatalogFields(Class<?> apiClass) {
+            this.apiClass = apiClass;
+            Map<String, Field> fields = Maps.newLinkedHashMap();
+            for (Field field : apiClass.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    field.setAccessible(true);
+                    fields.put(field.getName(), field);
+                }
+            }
+            this.fields = ImmutableMap.copyOf(fields);
+        }
+
+        Set<String> getFieldNames() {
+            return this.fields.keySet();
+        }
+
+        boolean isCatalog() {
+            return this.catalog;
+        }
+
+        Set<String> getUnmapped() {
+            Set<String> unmapped = new TreeSet<String>(this.fields.keySet());
+            synchronized (this.mapped) {
+                unmapped.removeAll(this.mapped);
+            }
+            return unmapped;
+        }
+
+        boolean set(String name, @Nullable Object value) {
+            Field field = this.fields.get(name);
+            if (field == null) {
+                fail(name, new NoSuchFieldException(name));
+                return false;
+            }
+            try {
+                field.set(null, value);
+            } catch (Exception e) {
+                fail(name, e);
+                return false;
+            }
+            if (value != null) {
+                this.mapped.add(name);
+            } else {
+                this.mapped.remove(name);
+            }
             return true;
-        } catch (Exception e) {
-            e.printStackTrace();
-            return false;
+        }
+
+        void fail(String name, Exception e) {
+            SpongeMod.instance.getLogger().error("Could not map " + this.apiClass.getSimpleName() + "." + name, e);
         }
     }
 }
@@ -28,6 +28,9 @@ package org.spongepowered.mod.registry;
 import com.google.common.base.Function;
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableBiMap;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -270,6 +273,9 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
 
 @SuppressWarnings("unchecked")
 @NonnullByDefault
@@ -279,8 +285,25 @@ public class SpongeGameRegistry implements GameRegistry {
 
     public static final Map<Class<? extends WorldProvider>, SpongeConfig<SpongeConfig.DimensionConfig>> dimensionConfigs = Maps.newHashMap();
 
+    // Resolved types of entity classes, including classes without a type of their own
+    private static final LoadingCache<Class<?>, Optional<EntityType>> entityTypeByClass =
+            CacheBuilder.newBuilder().weakKeys().build(new CacheLoader<Class<?>, Optional<EntityType>>() {
+
+                @Override
+                public Optional<EntityType> load(Class<?> entityClass) {
+                    Map<Class<? extends Entity>, SpongeEntityType> mappings =
+                            ((SpongeGameRegistry) SpongeMod.instance.getGame().getRegistry()).entityClassToTypeMappings;
+                    for (Class<?> type = entityClass; type != null; type = type.getSuperclass()) {
+                        EntityType entityType = mappings.get(type);
+                        if (entityType != null) {
+                            return Optional.of(entityType);
+                        }
+                    }
+                    return Optional.absent();
+                }
+            });
+
     public static final Map<String, TextColor> textColorMappings = Maps.newHashMap();
-    public static final Map<EnumChatFormatting, SpongeTextColor> enumChatColor = Maps.newEnumMap(EnumChatFormatting.class);
 
     public static final ImmutableMap<String, TextStyle> textStyleMappings = new ImmutableMap.Builder<String, TextStyle>()
             .put("BOLD", SpongeTextStyle.of(EnumChatFormatting.BOLD))
@@ -460,6 +483,14 @@ public class SpongeGameRegistry implements GameRegistry {
             .put("LEFT", new SpongeRotation(270))
             .put("TOP_LEFT", new SpongeRotation(315))
             .build();
+    private static final Rotation[] rotationByDegree = new Rotation[360];
+
+    static {
+        for (Rotation rotation : rotationMappings.values()) {
+            rotationByDegree[rotation.getAngle()] = rotation;
+        }
+    }
+
     public static final ImmutableBiMap<Direction, EnumFacing> directionMap = ImmutableBiMap.<Direction, EnumFacing>builder()
             .put(Direction.NORTH, EnumFacing.NORTH)
             .put(Direction.EAST, EnumFacing.EAST)
@@ -486,33 +517,40 @@ public class SpongeGameRegistry implements GameRegistry {
                     .put("PICK_BLOCK", new SpongeEntityInteractionType("PICK_BLOCK"))
                     .put("USE", new SpongeEntityInteractionType("USE"))
                     .build();
-    private final Map<String, Art> artMappings = Maps.newHashMap();
-    private final Map<String, EntityType> entityTypeMappings = Maps.newHashMap();
-    public final Map<String, SpongeEntityType> entityIdToTypeMappings = Maps.newHashMap();
-    public final Map<Class<? extends Entity>, SpongeEntityType> entityClassToTypeMappings = Maps.newHashMap();
-    public final Map<String, Enchantment> enchantmentMappings = Maps.newHashMap();
-    private final Map<String, Career> careerMappings = Maps.newHashMap();
-    private final Map<String, Profession> professionMappings = Maps.newHashMap();
-    private final Map<Integer, List<Career>> professionToCareerMappings = Maps.newHashMap();
-    private final Map<String, DimensionType> dimensionTypeMappings = Maps.newHashMap();
-    public final Map<Class<? extends Dimension>, DimensionType> dimensionClassMappings = Maps.newHashMap();
-    private final Map<String, SpongeParticleType> particleMappings = Maps.newHashMap();
-    private final Map<String, ParticleType> particleByName = Maps.newHashMap();
-    private final List<BlockType> blockList = new ArrayList<BlockType>();
-    private final List<ItemType> itemList = new ArrayList<ItemType>();
-    private final List<PotionEffectType> potionList = new ArrayList<PotionEffectType>();
-    private final List<BiomeType> biomeTypes = new ArrayList<BiomeType>();
-    private final Map<String, SkullType> skullTypeMappings = Maps.newHashMap();
-    private final Map<String, NotePitch> notePitchMappings = Maps.newHashMap();
-    private final Map<String, BannerPatternShape> bannerPatternShapeMappings = Maps.newHashMap();
-    private final Map<String, BannerPatternShape> idToBannerPatternShapeMappings = Maps.newHashMap();
-    private final Map<String, DyeColor> dyeColorMappings = Maps.newHashMap();
-    private final Map<String, SoundType> soundNames = Maps.newHashMap();
-    private final Map<String, CoalType> coaltypeMappings = Maps.newHashMap();
-    private final Map<String, Fish> fishMappings = Maps.newHashMap();
-    private final Map<String, CookedFish> cookedFishMappings = Maps.newHashMap();
+    private volatile Map<String, Art> artMappings = Maps.newHashMap();
+    private volatile Map<String, EntityType> entityTypeMappings = Maps.newHashMap();
+    public volatile Map<String, SpongeEntityType> entityIdToTypeMappings = Maps.newHashMap();
+    public volatile Map<Class<? extends Entity>, SpongeEntityType> entityClassToTypeMappings = Maps.newHashMap();
+    public volatile Map<String, Enchantment> enchantmentMappings = Maps.newHashMap();
+    private volatile Map<String, Career> careerMappings = Maps.newHashMap();
+    private volatile Map<String, Profession> professionMappings = Maps.newHashMap();
+    private volatile Map<Integer, List<Career>> professionToCareerMappings = Maps.newHashMap();
+    private volatile Map<String, DimensionType> dimensionTypeMappings = Maps.newHashMap();
+    public volatile Map<Class<? extends Dimension>, DimensionType> dimensionClassMappings = Maps.newHashMap();
+    private volatile Map<String, SpongeParticleType> particleMappings = Maps.newHashMap();
+    private volatile Map<String, ParticleType> particleByName = Maps.newHashMap();
+    private volatile List<BlockType> blockList = new ArrayList<BlockType>();
+    private volatile List<ItemType> itemList = new ArrayList<ItemType>();
+    private volatile List<PotionEffectType> potionList = new ArrayList<PotionEffectType>();
+    private volatile List<BiomeType> biomeTypes = new ArrayList<BiomeType>();
+    private volatile Map<String, SkullType> skullTypeMappings = Maps.newHashMap();
+    private volatile Map<String, NotePitch> notePitchMappings = Maps.newHashMap();
+    private volatile Map<String, BannerPatternShape> bannerPatternShapeMappings = Maps.newHashMap();
+    private volatile Map<String, BannerPatternShape> idToBannerPatternShapeMappings = Maps.newHashMap();
+    private volatile Map<String, DyeColor> dyeColorMappings = Maps.newHashMap();
+    private volatile Map<String, SoundType> soundNames = Maps.newHashMap();
+    private volatile Map<String, CoalType> coaltypeMappings = Maps.newHashMap();
+    private volatile Map<String, Fish> fishMappings = Maps.newHashMap();
+    private volatile Map<String, CookedFish> cookedFishMappings = Maps.newHashMap();
     private final Map<String, GoldenApple> goldenAppleMappings = Maps.newHashMap();
 
+    @Nullable private volatile List<String> defaultGameRules;
+    private volatile boolean frozen;
+
+    // Lower case indexes for lookups by name, replaced as a whole when rebuilt
+    @Nullable private volatile ImmutableMap<String, BiomeType> biomeByName;
+    @Nullable private volatile ImmutableMap<String, EntityType> entityById;
+
     @Override
     public Optional<BlockType> getBlock(String id) {
         return Optional.fromNullable((BlockType) GameData.getBlockRegistry().getObject(id));
@@ -544,25 +582,40 @@ public class SpongeGameRegistry implements GameRegistry {
 
     @Override
     public Optional<EntityType> getEntity(String id) {
-        if (!id.contains(":")) {
-            id = "minecraft:" + id;
+        ImmutableMap<String, EntityType> entityById = this.entityById;
+        if (entityById == null) {
+            // Not indexed before postInit, but matched the same way
+            if (!id.contains(":")) {
+                id = "minecraft:" + id;
+            }
+            for (SpongeEntityType entityType : this.entityIdToTypeMappings.values()) {
+                if (entityType.getId().equalsIgnoreCase(id)) {
+                    return Optional.<EntityType>of(entityType);
+                }
+            }
+            return Optional.absent();
         }
-        return Optional.fromNullable((EntityType) this.entityIdToTypeMappings.get(id));
+        return Optional.fromNullable(entityById.get(id.toLowerCase(Locale.ENGLISH)));
     }
 
     @Override
     public List<EntityType> getEntities() {
-        return ImmutableList.copyOf(this.entityTypeMappings.values());
+        return valuesOf(this.entityTypeMappings);
     }
 
     @Override
     public Optional<BiomeType> getBiome(String id) {
-        for (BiomeGenBase biome : BiomeGenBase.getBiomeGenArray()) {
-            if (biome != null && biome.biomeName.equalsIgnoreCase(id)) {
-                return Optional.of((BiomeType) biome);
+        ImmutableMap<String, BiomeType> biomeByName = this.biomeByName;
+        if (biomeByName == null) {
+            // Not indexed before the biomes are registered
+            for (BiomeGenBase biome : BiomeGenBase.getBiomeGenArray()) {
+                if (biome != null && biome.biomeName.equalsIgnoreCase(id)) {
+                    return Optional.of((BiomeType) biome);
+                }
             }
+            return Optional.absent();
         }
-        return Optional.absent();
+        return Optional.fromNullable(biomeByName.get(id.toLowerCase(Locale.ENGLISH)));
     }
 
     @Override
@@ -597,7 +650,7 @@ public class SpongeGameRegistry implements GameRegistry {
 
     @Override
     public List<ParticleType> getParticleTypes() {
-        return ImmutableList.copyOf(this.particleByName.values());
+        return valuesOf(this.particleByName);
     }
 
     @Override
@@ -624,12 +677,16 @@ public class SpongeGameRegistry implements GameRegistry {
 
     @Override
     public List<SoundType> getSounds() {
-        return ImmutableList.copyOf(this.soundNames.values());
+        return valuesOf(this.soundNames);
     }
 
     @Override
     public List<String> getDefaultGameRules() {
+        List<String> gameRules = this.defaultGameRules;
+        return gameRules != null ? gameRules : findDefaultGameRules();
+    }
 
+    private static List<String> findDefaultGameRules() {
         List<String> gameruleList = new ArrayList<String>();
         for (Field f : DefaultGameRules.class.getFields()) {
             try {
@@ -638,7 +695,7 @@ public class SpongeGameRegistry implements GameRegistry {
                 //Ignoring error
             }
         }
-        return gameruleList;
+        return ImmutableList.copyOf(gameruleList);
     }
 
     @Override
@@ -659,7 +716,7 @@ public class SpongeGameRegistry implements GameRegistry {
 
     @Override
     public List<DyeColor> getDyes() {
-        return ImmutableList.copyOf(this.dyeColorMappings.values());
+        return valuesOf(this.dyeColorMappings);
     }
 
     @Override
@@ -729,7 +786,7 @@ public class SpongeGameRegistry implements GameRegistry {
 
     @Override
     public List<Career> getCareers() {
-        return ImmutableList.copyOf(this.careerMappings.values());
+        return valuesOf(this.careerMappings);
     }
 
     @Override
@@ -744,12 +801,12 @@ public class SpongeGameRegistry implements GameRegistry {
 
     @Override
     public List<Profession> getProfessions() {
-        return ImmutableList.copyOf(this.professionMappings.values());
+        return valuesOf(this.professionMappings);
     }
 
     @Override
     public List<GameMode> getGameModes() {
-        return ImmutableList.copyOf(gameModeMappings.values());
+        return gameModeMappings.values().asList();
     }
 
     @Override
@@ -764,7 +821,7 @@ public class SpongeGameRegistry implements GameRegistry {
 
     @Override
     public List<Enchantment> getEnchantments() {
-        return ImmutableList.copyOf(this.enchantmentMappings.values());
+        return valuesOf(this.enchantmentMappings);
     }
 
     @Override
@@ -774,22 +831,20 @@ public class SpongeGameRegistry implements GameRegistry {
 
     @Override
     public List<DimensionType> getDimensionTypes() {
-        return ImmutableList.copyOf(this.dimensionTypeMappings.values());
+        return valuesOf(this.dimensionTypeMappings);
     }
 
     @Override
     public Optional<Rotation> getRotationFromDegree(int degrees) {
-        for (Rotation rotation : rotationMappings.values()) {
-            if (rotation.getAngle() == degrees) {
-                return Optional.of(rotation);
-            }
+        if (degrees < 0 || degrees >= rotationByDegree.length) {
+            return Optional.absent();
         }
-        return Optional.absent();
+        return Optional.fromNullable(rotationByDegree[degrees]);
     }
 
     @Override
     public List<Rotation> getRotations() {
-        return ImmutableList.copyOf(rotationMappings.values());
+        return rotationMappings.values().asList();
     }
 
     @Override
@@ -829,7 +884,7 @@ public class SpongeGameRegistry implements GameRegistry {
 
     @Override
     public List<NotePitch> getNotePitches() {
-        return ImmutableList.copyOf(this.notePitchMappings.values());
+        return valuesOf(this.notePitchMappings);
     }
 
     @Override
@@ -839,7 +894,7 @@ public class SpongeGameRegistry implements GameRegistry {
 
     @Override
     public List<SkullType> getSkullTypes() {
-        return ImmutableList.copyOf(this.skullTypeMappings.values());
+        return valuesOf(this.skullTypeMappings);
     }
 
     @Override
@@ -854,7 +909,7 @@ public class SpongeGameRegistry implements GameRegistry {
 
     @Override
     public List<BannerPatternShape> getBannerPatternShapes() {
-        return ImmutableList.copyOf(this.bannerPatternShapeMappings.values());
+        return valuesOf(this.bannerPatternShapeMappings);
     }
 
     @Override
@@ -994,7 +1049,7 @@ public class SpongeGameRegistry implements GameRegistry {
 
     @Override
     public Collection<CoalType> getCoalTypes() {
-        return ImmutableList.copyOf(this.coaltypeMappings.values());
+        return valuesOf(this.coaltypeMappings);
     }
 
     @Override
@@ -1004,7 +1059,7 @@ public class SpongeGameRegistry implements GameRegistry {
 
     @Override
     public Collection<Fish> getFishTypes() {
-        return ImmutableList.copyOf(this.fishMappings.values());
+        return valuesOf(this.fishMappings);
     }
 
     @Override
@@ -1014,7 +1069,7 @@ public class SpongeGameRegistry implements GameRegistry {
 
     @Override
     public Collection<CookedFish> getCookedFishTypes() {
-        return ImmutableList.copyOf(this.cookedFishMappings.values());
+        return valuesOf(this.cookedFishMappings);
     }
 
     @Override
@@ -1037,9 +1092,111 @@ public class SpongeGameRegistry implements GameRegistry {
         throw new UnsupportedOperationException();
     }
 
-    public void registerEnvironment(DimensionType env) {
-        this.dimensionTypeMappings.put(env.getName(), env);
-        this.dimensionClassMappings.put(env.getDimensionClass(), env);
+    /**
+     * Gets the entity type of an entity class. A class without a type of its
+     * own gets the type of its nearest superclass that has one. Results are
+     * cached per class, including classes without any type.
+     *
+     * @param entityClass The entity class
+     * @return The entity type, if available
+     */
+    public static Optional<EntityType> getEntityType(Class<?> entityClass) {
+        return entityTypeByClass.getUnchecked(entityClass);
+    }
+
+    public synchronized void registerEntityType(SpongeEntityType entityType) {
+        if (this.frozen) {
+            this.entityClassToTypeMappings = withEntry(this.entityClassToTypeMappings, entityType.entityClass, entityType);
+            this.entityIdToTypeMappings = withEntry(this.entityIdToTypeMappings, entityType.getId(), entityType);
+        } else {
+            this.entityClassToTypeMappings.put(entityType.entityClass, entityType);
+            this.entityIdToTypeMappings.put(entityType.getId(), entityType);
+        }
+        if (this.entityById != null) {
+            indexEntityTypes(); // Registered after postInit
+        }
+        entityTypeByClass.invalidateAll();
+    }
+
+    private void indexEntityTypes() {
+        Map<String, EntityType> index = Maps.newHashMap();
+        for (SpongeEntityType entityType : this.entityIdToTypeMappings.values()) {
+            String id = entityType.getId().toLowerCase(Locale.ENGLISH);
+            index.put(id, entityType);
+            if (entityType.getModId().equalsIgnoreCase("minecraft")) {
+                // Vanilla types can be looked up without their prefix
+                index.put(entityType.getEntityName().toLowerCase(Locale.ENGLISH), entityType);
+            }
+        }
+        this.entityById = ImmutableMap.copyOf(index);
+    }
+
+    public synchronized void registerEnvironment(DimensionType env) {
+        if (this.frozen) {
+            // Dimensions can still be registered while the server runs
+            this.dimensionTypeMappings = withEntry(this.dimensionTypeMappings, env.getName(), env);
+            this.dimensionClassMappings = withEntry(this.dimensionClassMappings, env.getDimensionClass(), env);
+        } else {
+            this.dimensionTypeMappings.put(env.getName(), env);
+            this.dimensionClassMappings.put(env.getDimensionClass(), env);
+        }
+    }
+
+    private static <K, V> Map<K, V> withEntry(Map<K, V> map, K key, V value) {
+        Map<K, V> copy = Maps.newHashMap(map);
+        copy.put(key, value);
+        return ImmutableMap.copyOf(copy);
+    }
+
+    private static <T> List<T> valuesOf(Map<?, T> map) {
+        if (map instanceof ImmutableMap) {
+            return ((ImmutableMap<?, T>) map).values().asList();
+        }
+        return ImmutableList.copyOf(map.values());
+    }
+
+    public boolean isFrozen() {
+        return this.frozen;
+    }
+
+    /**
+     * Replaces the catalog maps and lists with immutable copies once all
+     * catalogs are registered. Getters return the copies directly from then
+     * on, and they can be read from any thread without locking.
+     */
+    private synchronized void freeze() {
+        this.artMappings = ImmutableMap.copyOf(this.artMappings);
+        this.entityTypeMappings = ImmutableMap.copyOf(this.entityTypeMappings);
+        this.entityIdToTypeMappings = ImmutableMap.copyOf(this.entityIdToTypeMappings);
+        this.entityClassToTypeMappings = ImmutableMap.copyOf(this.entityClassToTypeMappings);
+        this.enchantmentMappings = ImmutableMap.copyOf(this.enchantmentMappings);
+        this.careerMappings = ImmutableMap.copyOf(this.careerMappings);
+        this.professionMappings = ImmutableMap.copyOf(this.professionMappings);
+        ImmutableMap.Builder<Integer, List<Career>> careers = ImmutableMap.builder();
+        for (Map.Entry<Integer, List<Career>> entry : this.professionToCareerMappings.entrySet()) {
+            careers.put(entry.getKey(), ImmutableList.copyOf(entry.getValue()));
+        }
+        this.professionToCareerMappings = careers.build();
+        this.dimensionTypeMappings = ImmutableMap.copyOf(this.dimensionTypeMappings);
+        this.dimensionClassMappings = ImmutableMap.copyOf(this.dimensionClassMappings);
+        this.particleMappings = ImmutableMap.copyOf(this.particleMappings);
+        this.particleByName = ImmutableMap.copyOf(this.particleByName);
+        this.blockList = ImmutableList.copyOf(this.blockList);
+        this.itemList = ImmutableList.copyOf(this.itemList);
+        this.potionList = ImmutableList.copyOf(this.potionList);
+        this.biomeTypes = ImmutableList.copyOf(this.biomeTypes);
+        this.skullTypeMappings = ImmutableMap.copyOf(this.skullTypeMappings);
+        this.notePitchMappings = ImmutableMap.copyOf(this.notePitchMappings);
+        this.bannerPatternShapeMappings = ImmutableMap.copyOf(this.bannerPatternShapeMappings);
+        this.idToBannerPatternShapeMappings = ImmutableMap.copyOf(this.idToBannerPatternShapeMappings);
+        this.dyeColorMappings = ImmutableMap.copyOf(this.dyeColorMappings);
+        this.soundNames = ImmutableMap.copyOf(this.soundNames);
+        this.coaltypeMappings = ImmutableMap.copyOf(this.coaltypeMappings);
+        this.fishMappings = ImmutableMap.copyOf(this.fishMappings);
+        this.cookedFishMappings = ImmutableMap.copyOf(this.cookedFishMappings);
+        this.defaultGameRules = findDefaultGameRules();
+        this.frozen = true;
+        entityTypeByClass.invalidateAll(); // Entities created during loading may have cached a missing type
     }
 
     private void setParticles() {
@@ -1278,6 +1435,7 @@ public class SpongeGameRegistry implements GameRegistry {
                 return entityType;
             }
         });
+        indexEntityTypes();
 
         RegistryHelper.mapFields(SkeletonTypes.class, SpongeEntityConstants.SKELETON_TYPES);
         RegistryHelper.mapFields(HorseColors.class, SpongeEntityConstants.HORSE_COLORS);
@@ -1289,11 +1447,17 @@ public class SpongeGameRegistry implements GameRegistry {
 
     private void setBiomeTypes() {
         BiomeGenBase[] biomeArray = BiomeGenBase.getBiomeGenArray();
+        Map<String, BiomeType> biomeByName = Maps.newHashMap();
         for (BiomeGenBase biome : biomeArray) {
             if (biome != null) {
                 this.biomeTypes.add((BiomeType) biome);
+                String name = biome.biomeName.toLowerCase(Locale.ENGLISH);
+                if (!biomeByName.containsKey(name)) {
+                    biomeByName.put(name, (BiomeType) biome); // The first biome with a name wins, as with the old scan
+                }
             }
         }
+        this.biomeByName = ImmutableMap.copyOf(biomeByName);
 
         this.biomeTypeMappings.put("OCEAN", (BiomeType) BiomeGenBase.ocean);
         this.biomeTypeMappings.put("PLAINS", (BiomeType) BiomeGenBase.plains);
@@ -1362,26 +1526,26 @@ public class SpongeGameRegistry implements GameRegistry {
 
     private void setCareersAndProfessions() {
         try {
-            Professions.class.getDeclaredField("FARMER").set(null, new SpongeProfession(0, "farmer"));
-            Careers.class.getDeclaredField("FARMER").set(null, new SpongeCareer(0, "farmer", Professions.FARMER));
-            Careers.class.getDeclaredField("FISHERMAN").set(null, new SpongeCareer(1, "fisherman", Professions.FARMER));
-            Careers.class.getDeclaredField("SHEPHERD").set(null, new SpongeCareer(2, "shepherd", Professions.FARMER));
-            Careers.class.getDeclaredField("FLETCHER").set(null, new SpongeCareer(3, "fletcher", Professions.FARMER));
+            RegistryHelper.bind(Professions.class, "FARMER", new SpongeProfession(0, "farmer"));
+            RegistryHelper.bind(Careers.class, "FARMER", new SpongeCareer(0, "farmer", Professions.FARMER));
+            RegistryHelper.bind(Careers.class, "FISHERMAN", new SpongeCareer(1, "fisherman", Professions.FARMER));
+            RegistryHelper.bind(Careers.class, "SHEPHERD", new SpongeCareer(2, "shepherd", Professions.FARMER));
+            RegistryHelper.bind(Careers.class, "FLETCHER", new SpongeCareer(3, "fletcher", Professions.FARMER));
 
-            Professions.class.getDeclaredField("LIBRARIAN").set(null, new SpongeProfession(1, "librarian"));
-            Careers.class.getDeclaredField("LIBRARIAN").set(null, new SpongeCareer(0, "librarian", Professions.LIBRARIAN));
+            RegistryHelper.bind(Professions.class, "LIBRARIAN", new SpongeProfession(1, "librarian"));
+            RegistryHelper.bind(Careers.class, "LIBRARIAN", new SpongeCareer(0, "librarian", Professions.LIBRARIAN));
 
-            Professions.class.getDeclaredField("PRIEST").set(null, new SpongeProfession(2, "priest"));
-            Careers.class.getDeclaredField("CLERIC").set(null, new SpongeCareer(0, "cleric", Professions.PRIEST));
+            RegistryHelper.bind(Professions.class, "PRIEST", new SpongeProfession(2, "priest"));
+            RegistryHelper.bind(Careers.class, "CLERIC", new SpongeCareer(0, "cleric", Professions.PRIEST));
 
-            Professions.class.getDeclaredField("BLACKSMITH").set(null, new SpongeProfession(3, "blacksmith"));
-            Careers.class.getDeclaredField("ARMORER").set(null, new SpongeCareer(0, "armor", Professions.BLACKSMITH));
-            Careers.class.getDeclaredField("WEAPON_SMITH").set(null, new SpongeCareer(1, "weapon", Professions.BLACKSMITH));
-            Careers.class.getDeclaredField("TOOL_SMITH").set(null, new SpongeCareer(2, "tool", Professions.BLACKSMITH));
+            RegistryHelper.bind(Professions.class, "BLACKSMITH", new SpongeProfession(3, "blacksmith"));
+            RegistryHelper.bind(Careers.class, "ARMORER", new SpongeCareer(0, "armor", Professions.BLACKSMITH));
+            RegistryHelper.bind(Careers.class, "WEAPON_SMITH", new SpongeCareer(1, "weapon", Professions.BLACKSMITH));
+            RegistryHelper.bind(Careers.class, "TOOL_SMITH", new SpongeCareer(2, "tool", Professions.BLACKSMITH));
 
-            Professions.class.getDeclaredField("BUTCHER").set(null, new SpongeProfession(4, "butcher"));
-            Careers.class.getDeclaredField("BUTCHER").set(null, new SpongeCareer(0, "butcher", Professions.BUTCHER));
-            Careers.class.getDeclaredField("LEATHERWORKER").set(null, new SpongeCareer(1, "leatherworker", Professions.BUTCHER));
+            RegistryHelper.bind(Professions.class, "BUTCHER", new SpongeProfession(4, "butcher"));
+            RegistryHelper.bind(Careers.class, "BUTCHER", new SpongeCareer(0, "butcher", Professions.BUTCHER));
+            RegistryHelper.bind(Careers.class, "LEATHERWORKER", new SpongeCareer(1, "leatherworker", Professions.BUTCHER));
 
             this.professionMappings.put(Professions.FARMER.getName(), Professions.FARMER);
             this.professionMappings.put(Professions.LIBRARIAN.getName(), Professions.LIBRARIAN);
@@ -1412,9 +1576,7 @@ public class SpongeGameRegistry implements GameRegistry {
     }
 
     private static void addTextColor(EnumChatFormatting handle, Color color) {
-        SpongeTextColor spongeColor = new SpongeTextColor(handle, color);
-        textColorMappings.put(handle.name(), spongeColor);
-        enumChatColor.put(handle, spongeColor);
+        textColorMappings.put(handle.name(), SpongeTextColor.register(handle, color));
     }
 
     private void setTextColors() {
@@ -1543,13 +1705,9 @@ public class SpongeGameRegistry implements GameRegistry {
     }
 
     private void setDimensionTypes() {
-        try {
-            DimensionTypes.class.getDeclaredField("NETHER").set(null, new SpongeDimensionType("NETHER", true, WorldProviderHell.class));
-            DimensionTypes.class.getDeclaredField("OVERWORLD").set(null, new SpongeDimensionType("OVERWORLD", true, WorldProviderSurface.class));
-            DimensionTypes.class.getDeclaredField("END").set(null, new SpongeDimensionType("END", false, WorldProviderEnd.class));
-        } catch (Throwable e) {
-            e.printStackTrace();
-        }
+        RegistryHelper.bind(DimensionTypes.class, "NETHER", new SpongeDimensionType("NETHER", true, WorldProviderHell.class));
+        RegistryHelper.bind(DimensionTypes.class, "OVERWORLD", new SpongeDimensionType("OVERWORLD", true, WorldProviderSurface.class));
+        RegistryHelper.bind(DimensionTypes.class, "END", new SpongeDimensionType("END", false, WorldProviderEnd.class));
     }
 
     private void setNotePitches() {
@@ -2092,36 +2250,82 @@ public class SpongeGameRegistry implements GameRegistry {
     }
 
     public void init() {
+        long start = System.nanoTime();
+        long time = start;
         setDimensionTypes();
+        time = logRegistrationTime("dimension types", time);
         setEnchantments();
+        time = logRegistrationTime("enchantments", time);
         setArts();
+        time = logRegistrationTime("arts", time);
         setCareersAndProfessions();
+        time = logRegistrationTime("careers and professions", time);
         setTextColors();
+        time = logRegistrationTime("text colors", time);
         setDyeColors();
+        time = logRegistrationTime("dye colors", time);
         setRotations();
+        time = logRegistrationTime("rotations", time);
         setWeathers();
+        time = logRegistrationTime("weathers", time);
         setTextActionFactory();
+        time = logRegistrationTime("text action factory", time);
         setTextFactory();
+        time = logRegistrationTime("text factory", time);
         setLocales();
+        time = logRegistrationTime("locales", time);
         setSelectors();
+        time = logRegistrationTime("selectors", time);
         setTitleFactory();
+        time = logRegistrationTime("title factory", time);
         setParticles();
+        time = logRegistrationTime("particles", time);
         setSkullTypes();
+        time = logRegistrationTime("skull types", time);
         setNotePitches();
+        time = logRegistrationTime("note pitches", time);
         setBannerPatternShapes();
+        time = logRegistrationTime("banner pattern shapes", time);
         setGameModes();
+        time = logRegistrationTime("game modes", time);
         setSounds();
+        time = logRegistrationTime("sounds", time);
         setDifficulties();
+        time = logRegistrationTime("difficulties", time);
         setEntityInteractionTypes();
+        time = logRegistrationTime("entity interaction types", time);
+        logPhaseTime("init", start);
     }
 
     public void postInit() {
+        long start = System.nanoTime();
+        long time = start;
         setBlockTypes();
+        time = logRegistrationTime("block types", time);
         setItemTypes();
+        time = logRegistrationTime("item types", time);
         setPotionTypes();
+        time = logRegistrationTime("potion types", time);
         setEntityTypes();
+        time = logRegistrationTime("entity types", time);
         setBiomeTypes();
+        time = logRegistrationTime("biome types", time);
         setFishes();
+        time = logRegistrationTime("fishes", time);
         setCoal();
+        time = logRegistrationTime("coal types", time);
+        freeze();
+        logPhaseTime("postInit", start);
+        RegistryHelper.logCoverage(SpongeMod.instance.getLogger());
+    }
+
+    private static long logRegistrationTime(String name, long start) {
+        long now = System.nanoTime();
+        SpongeMod.instance.getLogger().debug("Registered {} in {} ms", name, TimeUnit.NANOSECONDS.toMillis(now - start));
+        return now;
+    }
+
+    private static void logPhaseTime(String phase, long start) {
+        SpongeMod.instance.getLogger().info("Registry {} completed in {} ms", phase, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
     }
 }
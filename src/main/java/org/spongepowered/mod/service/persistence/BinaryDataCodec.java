@@ -0,0 +1,524 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered.org <http://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.service.persistence;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.spongepowered.api.service.persistence.DataSerializable;
+import org.spongepowered.api.service.persistence.data.DataContainer;
+import org.spongepowered.api.service.persistence.data.DataQuery;
+import org.spongepowered.api.service.persistence.data.DataView;
+import org.spongepowered.api.service.persistence.data.MemoryDataContainer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * A compact binary format for {@link DataView}s.
+ *
+ * <p>Every container is written as a frame: the format version, a flags byte,
+ * the varint length of the payload and the payload itself, which may be
+ * deflated. Frames can be written to the same stream or channel one after
+ * another. In the payload, integers are zigzag varints and every key is only
+ * written once, later occurrences refer to it by index. Frames should be read
+ * from blocking channels.</p>
+ */
+public final class BinaryDataCodec {
+
+    private static final BinaryDataCodec instance = new BinaryDataCodec();
+
+    public static BinaryDataCodec getInstance() {
+        return instance;
+    }
+
+    private static final int VERSION = 1;
+    private static final int FLAG_COMPRESSED = 1;
+
+    // Only compress payloads where it is worth the time
+    private static final int MIN_COMPRESSED_LENGTH = 256;
+
+    // Written in place of a key at the end of a view
+    private static final int END = 0;
+    private static final int NEW_KEY = 1;
+
+    private static final byte TYPE_BYTE = 1;
+    private static final byte TYPE_SHORT = 2;
+    private static final byte TYPE_INT = 3;
+    private static final byte TYPE_LONG = 4;
+    private static final byte TYPE_FLOAT = 5;
+    private static final byte TYPE_DOUBLE = 6;
+    private static final byte TYPE_BOOLEAN = 7;
+    private static final byte TYPE_STRING = 8;
+    private static final byte TYPE_BYTE_ARRAY = 9;
+    private static final byte TYPE_INT_ARRAY = 10;
+    private static final byte TYPE_LIST = 11;
+    private static final byte TYPE_VIEW = 12;
+
+    private BinaryDataCodec() {
+    }
+
+    /**
+     * Encodes the view into a frame.
+     *
+     * @param view The view to encode
+     * @param compress Whether the payload should be deflated
+     * @return The encoded frame
+     */
+    public byte[] encode(DataView view, boolean compress) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+        try {
+            new Writer(new DataOutputStream(buffer)).writeView(view);
+        } catch (IOException e) {
+            throw new AssertionError(e); // ByteArrayOutputStream doesn't throw
+        }
+
+        byte[] payload = buffer.toByteArray();
+        int flags = 0;
+        if (compress && payload.length >= MIN_COMPRESSED_LENGTH) {
+            byte[] compressed = deflate(payload);
+            if (compressed.length < payload.length) {
+                payload = compressed;
+                flags |= FLAG_COMPRESSED;
+            }
+        }
+
+        ByteArrayOutputStream frame = new ByteArrayOutputStream(payload.length + 7);
+        frame.write(VERSION);
+        frame.write(flags);
+        try {
+            writeVarInt(frame, payload.length);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        frame.write(payload, 0, payload.length);
+        return frame.toByteArray();
+    }
+
+    public DataContainer decode(byte[] frame) throws IOException {
+        return read(new ByteArrayInputStream(frame));
+    }
+
+    public void write(DataView view, OutputStream out, boolean compress) throws IOException {
+        out.write(encode(view, compress));
+    }
+
+    public void write(DataView view, WritableByteChannel channel, boolean compress) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(encode(view, compress));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Reads the next frame from the stream. The stream is not read past the
+     * end of the frame.
+     *
+     * @param in The stream to read from
+     * @return The decoded container
+     * @throws IOException If the stream fails or contains invalid data
+     */
+    public DataContainer read(InputStream in) throws IOException {
+        int version = readByte(in);
+        if (version != VERSION) {
+            throw new IOException("Unsupported data format version " + version);
+        }
+
+        int flags = readByte(in);
+        int length = 0;
+        for (int shift = 0; ; shift += 7) {
+            if (shift > 28) {
+                throw new IOException("Payload length is too long");
+            }
+            int b = readByte(in);
+            length |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                break;
+            }
+        }
+
+        byte[] payload = new byte[length];
+        new DataInputStream(in).readFully(payload);
+        return decodePayload(payload, flags);
+    }
+
+    /**
+     * Reads the next frame from the channel. The channel is not read past the
+     * end of the frame.
+     *
+     * @param channel The channel to read from
+     * @return The decoded container
+     * @throws IOException If the channel fails or contains invalid data
+     */
+    public DataContainer read(final ReadableByteChannel channel) throws IOException {
+        final ByteBuffer single = ByteBuffer.allocate(1);
+        return read(new InputStream() {
+
+            @Override
+            public int read() throws IOException {
+                single.clear();
+                while (single.hasRemaining()) {
+                    if (channel.read(single) < 0) {
+                        return -1;
+                    }
+                }
+                return single.get(0) & 0xFF;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                return channel.read(ByteBuffer.wrap(b, off, len));
+            }
+        });
+    }
+
+    private static int readByte(InputStream in) throws IOException {
+        int b = in.read();
+        if (b < 0) {
+            throw new EOFException();
+        }
+        return b;
+    }
+
+    private static DataContainer decodePayload(byte[] payload, int flags) throws IOException {
+        if ((flags & FLAG_COMPRESSED) != 0) {
+            payload = inflate(payload);
+        }
+
+        DataContainer container = new MemoryDataContainer();
+        new Reader(new DataInputStream(new ByteArrayInputStream(payload))).readView(container);
+        return container;
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2 + 16);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] data) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 2);
+            byte[] buffer = new byte[4096];
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buffer);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new EOFException("Truncated compressed payload");
+                }
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IOException("Invalid compressed payload", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static void writeVarInt(OutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static final class Writer {
+
+        private final DataOutputStream out;
+        private final Map<String, Integer> keys = Maps.newHashMap();
+
+        Writer(DataOutputStream out) {
+            this.out = out;
+        }
+
+        private void writeVarLong(long value) throws IOException {
+            while ((value & ~0x7FL) != 0) {
+                this.out.write((int) (value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            this.out.write((int) value);
+        }
+
+        private void writeString(String value) throws IOException {
+            byte[] bytes = value.getBytes(Charsets.UTF_8);
+            writeVarInt(this.out, bytes.length);
+            this.out.write(bytes);
+        }
+
+        private void writeKey(String key) throws IOException {
+            Integer index = this.keys.get(key);
+            if (index != null) {
+                writeVarInt(this.out, index + 2);
+            } else {
+                // New keys are written in full and get the next index
+                this.keys.put(key, this.keys.size());
+                writeVarInt(this.out, NEW_KEY);
+                writeString(key);
+            }
+        }
+
+        void writeView(DataView view) throws IOException {
+            for (Map.Entry<DataQuery, Object> entry : view.getValues(false).entrySet()) {
+                writeKey(entry.getKey().asString('.'));
+                writeValue(entry.getValue());
+            }
+            writeVarInt(this.out, END);
+        }
+
+        private void writeValue(Object value) throws IOException {
+            if (value instanceof Byte) {
+                this.out.writeByte(TYPE_BYTE);
+                this.out.writeByte((Byte) value);
+            } else if (value instanceof Short) {
+                this.out.writeByte(TYPE_SHORT);
+                this.out.writeShort((Short) value);
+            } else if (value instanceof Integer) {
+                int i = (Integer) value;
+                this.out.writeByte(TYPE_INT);
+                writeVarInt(this.out, (i << 1) ^ (i >> 31));
+            } else if (value instanceof Long) {
+                long l = (Long) value;
+                this.out.writeByte(TYPE_LONG);
+                writeVarLong((l << 1) ^ (l >> 63));
+            } else if (value instanceof Float) {
+                this.out.writeByte(TYPE_FLOAT);
+                this.out.writeFloat((Float) value);
+            } else if (value instanceof Double) {
+                this.out.writeByte(TYPE_DOUBLE);
+                this.out.writeDouble((Double) value);
+            } else if (value instanceof Boolean) {
+                this.out.writeByte(TYPE_BOOLEAN);
+                this.out.writeBoolean((Boolean) value);
+            } else if (value instanceof String) {
+                this.out.writeByte(TYPE_STRING);
+                writeString((String) value);
+            } else if (value instanceof byte[]) {
+                byte[] array = (byte[]) value;
+                this.out.writeByte(TYPE_BYTE_ARRAY);
+                writeVarInt(this.out, array.length);
+                this.out.write(array);
+            } else if (value instanceof Byte[]) {
+                Byte[] array = (Byte[]) value;
+                this.out.writeByte(TYPE_BYTE_ARRAY);
+                writeVarInt(this.out, array.length);
+                for (Byte b : array) {
+                    this.out.writeByte(b);
+                }
+            } else if (value instanceof int[]) {
+                int[] array = (int[]) value;
+                this.out.writeByte(TYPE_INT_ARRAY);
+                writeVarInt(this.out, array.length);
+                for (int i : array) {
+                    this.out.writeInt(i);
+                }
+            } else if (value instanceof Integer[]) {
+                Integer[] array = (Integer[]) value;
+                this.out.writeByte(TYPE_INT_ARRAY);
+                writeVarInt(this.out, array.length);
+                for (Integer i : array) {
+                    this.out.writeInt(i);
+                }
+            } else if (value instanceof List) {
+                List<?> list = (List<?>) value;
+                this.out.writeByte(TYPE_LIST);
+                writeVarInt(this.out, list.size());
+                for (Object element : list) {
+                    writeValue(element);
+                }
+            } else if (value instanceof Map) {
+                this.out.writeByte(TYPE_VIEW);
+                for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                    Object key = entry.getKey();
+                    writeKey(key instanceof DataQuery ? ((DataQuery) key).asString('.') : String.valueOf(key));
+                    writeValue(entry.getValue());
+                }
+                writeVarInt(this.out, END);
+            } else if (value instanceof DataSerializable) {
+                this.out.writeByte(TYPE_VIEW);
+                writeView(((DataSerializable) value).toContainer());
+            } else if (value instanceof DataView) {
+                this.out.writeByte(TYPE_VIEW);
+                writeView((DataView) value);
+            } else {
+                throw new IllegalArgumentException("Unable to encode " + (value == null ? "null" : value.getClass().getName()));
+            }
+        }
+
+    }
+
+    private static final class Reader {
+
+        private final DataInputStream in;
+        private final List<DataQuery> keys = Lists.newArrayList();
+
+        Reader(DataInputStream in) {
+            this.in = in;
+        }
+
+        private int readVarInt() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                int b = this.in.readUnsignedByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("VarInt is too long");
+        }
+
+        private long readVarLong() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 70; shift += 7) {
+                int b = this.in.readUnsignedByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("VarLong is too long");
+        }
+
+        private int readLength() throws IOException {
+            int length = readVarInt();
+            if (length < 0 || length > this.in.available()) {
+                throw new IOException("Invalid length " + length);
+            }
+            return length;
+        }
+
+        private String readString() throws IOException {
+            byte[] bytes = new byte[readLength()];
+            this.in.readFully(bytes);
+            return new String(bytes, Charsets.UTF_8);
+        }
+
+        private DataQuery readKey(int index) throws IOException {
+            if (index == NEW_KEY) {
+                // Keys are never split, so keys containing dots survive
+                DataQuery key = new DataQuery(readString());
+                this.keys.add(key);
+                return key;
+            } else if (index < 2 || index - 2 >= this.keys.size()) {
+                throw new IOException("Unknown key index " + index);
+            }
+            return this.keys.get(index - 2);
+        }
+
+        void readView(DataView view) throws IOException {
+            int index;
+            while ((index = readVarInt()) != END) {
+                DataQuery key = readKey(index);
+                byte type = this.in.readByte();
+                if (type == TYPE_VIEW) {
+                    readView(view.createView(key));
+                } else {
+                    view.set(key, readValue(type));
+                }
+            }
+        }
+
+        private Object readValue(byte type) throws IOException {
+            switch (type) {
+                case TYPE_BYTE:
+                    return this.in.readByte();
+                case TYPE_SHORT:
+                    return this.in.readShort();
+                case TYPE_INT: {
+                    int i = readVarInt();
+                    return (i >>> 1) ^ -(i & 1);
+                }
+                case TYPE_LONG: {
+                    long l = readVarLong();
+                    return (l >>> 1) ^ -(l & 1);
+                }
+                case TYPE_FLOAT:
+                    return this.in.readFloat();
+                case TYPE_DOUBLE:
+                    return this.in.readDouble();
+                case TYPE_BOOLEAN:
+                    return this.in.readBoolean();
+                case TYPE_STRING:
+                    return readString();
+                case TYPE_BYTE_ARRAY: {
+                    byte[] array = new byte[readLength()];
+                    this.in.readFully(array);
+                    return array;
+                }
+                case TYPE_INT_ARRAY: {
+                    int[] array = new int[readLength()];
+                    for (int i = 0; i < array.length; i++) {
+                        array[i] = this.in.readInt();
+                    }
+                    return array;
+                }
+                case TYPE_LIST: {
+                    int count = readLength();
+                    List<Object> list = Lists.newArrayListWithCapacity(count);
+                    for (int i = 0; i < count; i++) {
+                        list.add(readValue(this.in.readByte()));
+                    }
+                    return list;
+                }
+                case TYPE_VIEW: {
+                    DataContainer container = new MemoryDataContainer();
+                    readView(container);
+                    return container;
+                }
+                default:
+                    throw new IOException("Unknown type " + type);
+            }
+        }
+
+    }
+
+}
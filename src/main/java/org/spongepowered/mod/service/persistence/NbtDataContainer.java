@@ -0,0 +1,215 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered.org <http://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.service.persistence;
+
+import com.google.common.base.Optional;
+import net.minecraft.nbt.NBTBase;
+import net.minecraft.nbt.NBTTagByte;
+import net.minecraft.nbt.NBTTagByteArray;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagDouble;
+import net.minecraft.nbt.NBTTagFloat;
+import net.minecraft.nbt.NBTTagInt;
+import net.minecraft.nbt.NBTTagIntArray;
+import net.minecraft.nbt.NBTTagLong;
+import net.minecraft.nbt.NBTTagShort;
+import net.minecraft.nbt.NBTTagString;
+import org.spongepowered.api.service.persistence.data.DataQuery;
+import org.spongepowered.api.service.persistence.data.DataView;
+import org.spongepowered.api.service.persistence.data.MemoryDataContainer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+/**
+ * A {@link MemoryDataContainer} that reads its values directly from a wrapped
+ * {@link NBTTagCompound}. Setting a plain top level value copies the compound
+ * once and writes the value to the copy. The compound is only copied into the
+ * container once it is modified otherwise or nested views are requested, so
+ * read-only access and simple writes don't need to copy the whole tree.
+ */
+class NbtDataContainer extends MemoryDataContainer {
+
+    @Nullable private NBTTagCompound compound;
+    private boolean copied;
+
+    NbtDataContainer(NBTTagCompound compound) {
+        this.compound = compound;
+    }
+
+    /**
+     * Gets the wrapped compound if the container wasn't copied yet.
+     *
+     * @return The compound, or null if the container was copied
+     */
+    @Nullable
+    NBTTagCompound getCompound() {
+        return this.compound;
+    }
+
+    private void materialize() {
+        NBTTagCompound compound = this.compound;
+        if (compound != null) {
+            this.compound = null;
+            NbtTranslator.copyToView(compound, this);
+        }
+    }
+
+    @Nullable
+    private static NBTBase getTag(NBTTagCompound compound, DataQuery path) {
+        List<String> parts = path.getParts();
+        int last = parts.size() - 1;
+        for (int i = 0; i < last; i++) {
+            NBTBase tag = compound.getTag(parts.get(i));
+            if (tag == null || tag.getId() != 10) {
+                return null;
+            }
+            compound = (NBTTagCompound) tag;
+        }
+        return compound.getTag(parts.get(last));
+    }
+
+    @Nullable
+    private static NBTBase getPlainTag(Object value) {
+        // Lists and views can't be stored losslessly, the container handles those
+        if (value instanceof Byte) {
+            return new NBTTagByte((Byte) value);
+        } else if (value instanceof Short) {
+            return new NBTTagShort((Short) value);
+        } else if (value instanceof Integer) {
+            return new NBTTagInt((Integer) value);
+        } else if (value instanceof Long) {
+            return new NBTTagLong((Long) value);
+        } else if (value instanceof Float) {
+            return new NBTTagFloat((Float) value);
+        } else if (value instanceof Double) {
+            return new NBTTagDouble((Double) value);
+        } else if (value instanceof String) {
+            return new NBTTagString((String) value);
+        } else if (value instanceof byte[]) {
+            return new NBTTagByteArray(((byte[]) value).clone());
+        } else if (value instanceof int[]) {
+            return new NBTTagIntArray(((int[]) value).clone());
+        }
+        return null;
+    }
+
+    @Override
+    public boolean contains(DataQuery path) {
+        NBTTagCompound compound = this.compound;
+        if (compound != null) {
+            return getTag(compound, path) != null;
+        }
+        return super.contains(path);
+    }
+
+    @Override
+    public Optional<Object> get(DataQuery path) {
+        NBTTagCompound compound = this.compound;
+        if (compound != null) {
+            NBTBase tag = getTag(compound, path);
+            if (tag == null) {
+                return Optional.absent();
+            } else if (tag.getId() != 10) {
+                return Optional.fromNullable(NbtTranslator.fromTagBase(tag, tag.getId()));
+            }
+            // Nested views need to be part of this container
+            materialize();
+        }
+        return super.get(path);
+    }
+
+    @Override
+    public Optional<DataView> getView(DataQuery path) {
+        materialize();
+        return super.getView(path);
+    }
+
+    @Override
+    public Set<DataQuery> getKeys(boolean deep) {
+        materialize();
+        return super.getKeys(deep);
+    }
+
+    @Override
+    public Map<DataQuery, Object> getValues(boolean deep) {
+        materialize();
+        return super.getValues(deep);
+    }
+
+    @Override
+    public void set(DataQuery path, Object value) {
+        NBTTagCompound compound = this.compound;
+        if (compound != null && path.getParts().size() == 1) {
+            NBTBase tag = getPlainTag(value);
+            if (tag != null) {
+                if (!this.copied) {
+                    // The wrapped compound isn't ours to modify
+                    compound = (NBTTagCompound) compound.copy();
+                    this.compound = compound;
+                    this.copied = true;
+                }
+                compound.setTag(path.getParts().get(0), tag);
+                return;
+            }
+        }
+        materialize();
+        super.set(path, value);
+    }
+
+    @Override
+    public void remove(DataQuery path) {
+        materialize();
+        super.remove(path);
+    }
+
+    @Override
+    public DataView createView(DataQuery path) {
+        materialize();
+        return super.createView(path);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        materialize();
+        return super.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+        materialize();
+        return super.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        materialize();
+        return super.toString();
+    }
+
+}
@@ -25,8 +25,6 @@
 
 package org.spongepowered.mod.service.persistence;
 
-import static org.spongepowered.api.service.persistence.data.DataQuery.of;
-
 import com.google.common.collect.Lists;
 import net.minecraft.nbt.NBTBase;
 import net.minecraft.nbt.NBTTagByte;
@@ -62,20 +60,39 @@ public final class NbtTranslator implements DataTranslator<NBTTagCompound> {
     private NbtTranslator() { } // #NOPE
 
     private static NBTTagCompound containerToCompound(final DataView container) {
+        if (container instanceof NbtDataContainer) {
+            NBTTagCompound wrapped = ((NbtDataContainer) container).getCompound();
+            if (wrapped != null) {
+                return (NBTTagCompound) wrapped.copy();
+            }
+        }
+
         NBTTagCompound compound = new NBTTagCompound();
         containerToCompound(container, compound);
         return compound;
     }
 
+    @SuppressWarnings("unchecked")
     private static void containerToCompound(final DataView container, final NBTTagCompound compound) {
+        if (container instanceof NbtDataContainer) {
+            NBTTagCompound wrapped = ((NbtDataContainer) container).getCompound();
+            if (wrapped != null) {
+                for (String key : (Set<String>) wrapped.getKeySet()) {
+                    compound.setTag(key, wrapped.getTag(key).copy());
+                }
+                return;
+            }
+        }
+
         // We don't need to get deep values since all nested DataViews will be found
         // from the instance of checks.
         for (Map.Entry<DataQuery, Object> entry : container.getValues(false).entrySet()) {
             Object value = entry.getValue();
             String key = entry.getKey().asString('.');
             if (value instanceof DataView) {
+                // The value already is the nested view, no need to look it up again
                 NBTTagCompound inner = new NBTTagCompound();
-                containerToCompound(container.getView(entry.getKey()).get(), inner);
+                containerToCompound((DataView) value, inner);
                 compound.setTag(key, inner);
             } else {
                 compound.setTag(key, getBaseFromObject(value));
@@ -99,6 +116,10 @@ public final class NbtTranslator implements DataTranslator<NBTTagCompound> {
             return new NBTTagDouble((Double) value);
         } else if (value instanceof String) {
             return new NBTTagString((String) value);
+        } else if (value instanceof byte[]) {
+            return new NBTTagByteArray((byte[]) value);
+        } else if (value instanceof int[]) {
+            return new NBTTagIntArray((int[]) value);
         } else if (value instanceof Byte[]) {
             byte[] array = new byte[((Byte[]) value).length];
             int counter = 0;
@@ -135,35 +156,39 @@ public final class NbtTranslator implements DataTranslator<NBTTagCompound> {
         throw new IllegalArgumentException("Unable to translate object to NBTBase!");
     }
 
-    @SuppressWarnings("unchecked")
     private static DataView getViewFromCompound(NBTTagCompound compound) {
         DataContainer container = new MemoryDataContainer();
+        copyToView(compound, container);
+        return container;
+    }
+
+    @SuppressWarnings("unchecked")
+    static void copyToView(NBTTagCompound compound, DataView view) {
         for (String key : (Set<String>) compound.getKeySet()) {
             NBTBase base = compound.getTag(key);
             byte type = base.getId();
-            setInternal(base, type, container, key); // gotta love recursion
+            setInternal(base, type, view, new DataQuery(key)); // gotta love recursion
         }
-        return container;
     }
 
     @SuppressWarnings({"unchecked", "rawtypes"})
-    private static void setInternal(NBTBase base, byte type, DataView view, String key) {
+    private static void setInternal(NBTBase base, byte type, DataView view, DataQuery key) {
         if (type == 1) {
-            view.set(of('.', key), ((NBTBase.NBTPrimitive) base).getByte());
+            view.set(key, ((NBTBase.NBTPrimitive) base).getByte());
         } else if (type == 2) {
-            view.set(of('.', key), ((NBTBase.NBTPrimitive) base).getShort());
+            view.set(key, ((NBTBase.NBTPrimitive) base).getShort());
         } else if (type == 3) {
-            view.set(of('.', key), ((NBTBase.NBTPrimitive) base).getInt());
+            view.set(key, ((NBTBase.NBTPrimitive) base).getInt());
         } else if (type == 4) {
-            view.set(of('.', key), ((NBTBase.NBTPrimitive) base).getLong());
+            view.set(key, ((NBTBase.NBTPrimitive) base).getLong());
         } else if (type == 5) {
-            view.set(of('.', key), ((NBTBase.NBTPrimitive) base).getFloat());
+            view.set(key, ((NBTBase.NBTPrimitive) base).getFloat());
         } else if (type == 6) {
-            view.set(of('.', key), ((NBTBase.NBTPrimitive) base).getDouble());
+            view.set(key, ((NBTBase.NBTPrimitive) base).getDouble());
         } else if (type == 7) {
-            view.set(of('.', key), ((NBTTagByteArray) base).getByteArray());
+            view.set(key, ((NBTTagByteArray) base).getByteArray().clone());
         } else if (type == 8) {
-            view.set(of('.', key), ((NBTTagString) base).getString());
+            view.set(key, ((NBTTagString) base).getString());
         } else if (type == 9) {
             NBTTagList list = (NBTTagList) base;
             byte listType = (byte) list.getTagType();
@@ -172,9 +197,9 @@ public final class NbtTranslator implements DataTranslator<NBTTagCompound> {
             for (int i = 0; i < count; i++) {
                 objectList.add(fromTagBase(list.get(i), listType));
             }
-            view.set(of('.', key), objectList);
+            view.set(key, objectList);
         } else if (type == 10) {
-            DataView internalView = view.createView(of('.', key));
+            DataView internalView = view.createView(key);
             NBTTagCompound compound = (NBTTagCompound) base;
             for (String internalKey : (Set<String>) compound.getKeySet()) {
                 NBTBase internalBase = compound.getTag(internalKey);
@@ -183,15 +208,15 @@ public final class NbtTranslator implements DataTranslator<NBTTagCompound> {
                 // Reasoning: This avoids creating a new DataContainer which would
                 // then be copied in to the owning DataView anyways. We can internally
                 // set the actual data directly to the child view instead.
-                setInternal(internalBase, internalType, internalView, internalKey);
+                setInternal(internalBase, internalType, internalView, new DataQuery(internalKey));
             }
         } else if (type == 11) {
-            view.set(of('.', key), ((NBTTagIntArray) base).getIntArray());
+            view.set(key, ((NBTTagIntArray) base).getIntArray().clone());
         }
     }
 
     @SuppressWarnings({"unchecked", "rawtypes"})
-    private static Object fromTagBase(NBTBase base, byte type) {
+    static Object fromTagBase(NBTBase base, byte type) {
         if (type == 0) {
             return null;
         } else if (type == 1) {
@@ -207,7 +232,7 @@ public final class NbtTranslator implements DataTranslator<NBTTagCompound> {
         } else if (type == 6) {
             return ((NBTBase.NBTPrimitive) base).getDouble();
         } else if (type == 7) {
-            return ((NBTTagByteArray) base).getByteArray();
+            return ((NBTTagByteArray) base).getByteArray().clone();
         } else if (type == 8) {
             return ((NBTTagString) base).getString();
         } else if (type == 9) {
@@ -222,7 +247,7 @@ public final class NbtTranslator implements DataTranslator<NBTTagCompound> {
         } else if (type == 10) {
             return getViewFromCompound((NBTTagCompound) base);
         } else if (type == 11) {
-            return ((NBTTagIntArray) base).getIntArray();
+            return ((NBTTagIntArray) base).getIntArray().clone();
         } else {
             return null;
         }
@@ -238,8 +263,25 @@ public final class NbtTranslator implements DataTranslator<NBTTagCompound> {
         NbtTranslator.containerToCompound(container, node);
     }
 
+    /**
+     * Gets a view of the compound, see {@link #wrap(NBTTagCompound)}. The
+     * compound must not be modified while the view is used.
+     */
     @Override
     public DataView translateFrom(NBTTagCompound node) {
-        return NbtTranslator.getViewFromCompound(node);
+        return wrap(node);
+    }
+
+    /**
+     * Wraps the compound in a {@link DataContainer} without copying it. Values
+     * are read directly from the compound until the container is modified,
+     * at which point it is copied. Arrays are copied when they are read. The
+     * compound must not be modified while the container is used.
+     *
+     * @param node The compound to wrap
+     * @return The container backed by the compound
+     */
+    public DataContainer wrap(NBTTagCompound node) {
+        return new NbtDataContainer(node);
     }
 }
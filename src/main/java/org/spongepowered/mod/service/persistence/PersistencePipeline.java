@@ -0,0 +1,241 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered.org <http://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.service.persistence;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import org.spongepowered.api.service.persistence.DataSerializable;
+import org.spongepowered.api.service.persistence.DataSerializableBuilder;
+import org.spongepowered.api.service.persistence.SerializationService;
+import org.spongepowered.api.service.persistence.data.DataContainer;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+
+/**
+ * Persists many {@link DataSerializable}s without blocking the main thread.
+ *
+ * <p>Objects are converted into containers on the calling thread, which
+ * should be the main thread, and encoded and written on worker threads.
+ * Reading decodes the containers on a worker thread, but the objects are
+ * built on the main thread, since builders may access the world. At most
+ * {@link #BUILDS_PER_TICK} objects are built per tick.</p>
+ */
+public final class PersistencePipeline {
+
+    private static final PersistencePipeline instance = new PersistencePipeline();
+
+    public static PersistencePipeline getInstance() {
+        return instance;
+    }
+
+    public static final int BUILDS_PER_TICK = 64;
+    private static final int WORKER_THREADS = 2;
+
+    private final ListeningExecutorService executor = MoreExecutors.listeningDecorator(Executors.newFixedThreadPool(WORKER_THREADS,
+            new ThreadFactoryBuilder().setNameFormat("Sponge Persistence Thread #%d").setDaemon(true).build()));
+
+    private final Queue<BuildJob<?>> buildJobs = new ConcurrentLinkedQueue<BuildJob<?>>();
+
+    private PersistencePipeline() {
+    }
+
+    /**
+     * Writes the objects to the file in the format of {@link BinaryDataCodec}.
+     * The containers of the objects are created before this method returns,
+     * so the objects may be modified afterwards.
+     *
+     * @param objects The objects to write
+     * @param file The file to write to, it is only replaced once all objects
+     *        were written
+     * @param compress Whether the data should be compressed
+     * @return The future for the amount of objects written
+     */
+    public ListenableFuture<Integer> write(Iterable<? extends DataSerializable> objects, final File file, final boolean compress) {
+        checkNotNull(objects, "objects");
+        checkNotNull(file, "file");
+
+        final List<DataContainer> containers = Lists.newArrayList();
+        for (DataSerializable object : objects) {
+            containers.add(object.toContainer());
+        }
+
+        return this.executor.submit(new Callable<Integer>() {
+
+            @Override
+            public Integer call() throws Exception {
+                // Only replace the file once the new data is complete
+                File temp = File.createTempFile(file.getName(), ".tmp", file.getAbsoluteFile().getParentFile());
+                try {
+                    BinaryDataCodec codec = BinaryDataCodec.getInstance();
+                    FileOutputStream out = new FileOutputStream(temp);
+                    try {
+                        FileChannel channel = out.getChannel();
+                        for (DataContainer container : containers) {
+                            codec.write(container, channel, compress);
+                        }
+                        channel.force(true);
+                    } finally {
+                        out.close();
+                    }
+
+                    // Renaming over an existing file fails on Windows
+                    if (!temp.renameTo(file) && !(file.delete() && temp.renameTo(file))) {
+                        throw new IOException("Could not replace " + file);
+                    }
+                } finally {
+                    if (temp.exists()) {
+                        temp.delete();
+                    }
+                }
+                return containers.size();
+            }
+        });
+    }
+
+    /**
+     * Reads the objects from a file written by
+     * {@link #write(Iterable, File, boolean)}. The objects are built on the
+     * main thread over the next ticks.
+     *
+     * @param service The service to get the builder from
+     * @param clazz The class of the objects
+     * @param file The file to read from
+     * @return The future for the built objects, without the objects the
+     *         builder didn't build
+     */
+    public <T extends DataSerializable> ListenableFuture<List<T>> read(SerializationService service, Class<T> clazz, final File file) {
+        checkNotNull(service, "service");
+        checkNotNull(clazz, "clazz");
+        checkNotNull(file, "file");
+
+        Optional<DataSerializableBuilder<T>> builder = service.getBuilder(clazz);
+        checkArgument(builder.isPresent(), "No builder is registered for %s", clazz);
+
+        final BuildJob<T> job = new BuildJob<T>(builder.get());
+        this.executor.execute(new Runnable() {
+
+            @Override
+            public void run() {
+                try {
+                    job.containers = readContainers(file);
+                    PersistencePipeline.this.buildJobs.add(job);
+                } catch (Throwable t) {
+                    job.future.setException(t);
+                }
+            }
+        });
+        return job.future;
+    }
+
+    private static List<DataContainer> readContainers(File file) throws IOException {
+        BinaryDataCodec codec = BinaryDataCodec.getInstance();
+        List<DataContainer> containers = Lists.newArrayList();
+        FileInputStream in = new FileInputStream(file);
+        try {
+            FileChannel channel = in.getChannel();
+            while (channel.position() < channel.size()) {
+                containers.add(codec.read(channel));
+            }
+        } finally {
+            in.close();
+        }
+        return containers;
+    }
+
+    @SubscribeEvent
+    public void onTick(TickEvent.ServerTickEvent event) {
+        if (event.phase == TickEvent.Phase.END) {
+            int budget = BUILDS_PER_TICK;
+            BuildJob<?> job;
+            while (budget > 0 && (job = this.buildJobs.peek()) != null) {
+                budget = job.build(budget);
+                if (job.future.isDone()) {
+                    this.buildJobs.poll();
+                }
+            }
+        }
+    }
+
+    private static final class BuildJob<T> {
+
+        final DataSerializableBuilder<T> builder;
+        final SettableFuture<List<T>> future = SettableFuture.create();
+        final List<T> results = Lists.newArrayList();
+        volatile List<DataContainer> containers;
+        int index;
+
+        BuildJob(DataSerializableBuilder<T> builder) {
+            this.builder = builder;
+        }
+
+        /**
+         * Builds objects until the job is done or the budget is used up.
+         *
+         * @param budget The maximum amount of objects to build
+         * @return The remaining budget
+         */
+        int build(int budget) {
+            try {
+                while (budget > 0 && this.index < this.containers.size()) {
+                    Optional<T> result = this.builder.build(this.containers.get(this.index++));
+                    if (result.isPresent()) {
+                        this.results.add(result.get());
+                    }
+                    budget--;
+                }
+            } catch (Throwable t) {
+                this.future.setException(t);
+                return budget;
+            }
+
+            if (this.index == this.containers.size()) {
+                this.future.set(ImmutableList.copyOf(this.results));
+            }
+            return budget;
+        }
+
+    }
+
+}
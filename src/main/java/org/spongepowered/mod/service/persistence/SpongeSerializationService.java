@@ -29,21 +29,48 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 
 import com.google.common.base.Optional;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
+import com.google.common.reflect.TypeToken;
 import org.spongepowered.api.service.persistence.DataSerializable;
 import org.spongepowered.api.service.persistence.DataSerializableBuilder;
 import org.spongepowered.api.service.persistence.SerializationService;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Map;
+import java.util.Set;
 
 public class SpongeSerializationService implements SerializationService {
 
-    private final Map<Class<?>, DataSerializableBuilder<?>> builders = Maps.newHashMap();
-    private boolean registrationComplete = false;
+    // Replaced with an immutable copy once the registration is complete
+    private volatile Map<Class<?>, DataSerializableBuilder<?>> builders = Maps.newHashMap();
+    private volatile boolean registrationComplete = false;
+
+    /**
+     * Caches the builders resolved through the type hierarchy of classes
+     * without an exact registration. The cache is entirely invalidated if
+     * builders are registered. Keys are weak so plugin and mod classes can
+     * still be unloaded.
+     */
+    private final LoadingCache<Class<?>, Optional<DataSerializableBuilder<?>>> builderCache =
+            CacheBuilder.newBuilder().weakKeys().build(new CacheLoader<Class<?>, Optional<DataSerializableBuilder<?>>>() {
+
+                @Override
+                public Optional<DataSerializableBuilder<?>> load(Class<?> type) throws Exception {
+                    return resolveBuilder(type);
+                }
+            });
 
     public void completeRegistration() {
         checkState(!this.registrationComplete);
+        this.builders = ImmutableMap.copyOf(this.builders);
         this.registrationComplete = true;
+        this.builderCache.invalidateAll();
     }
 
     @Override
@@ -53,17 +80,68 @@ public class SpongeSerializationService implements SerializationService {
         checkState(!this.registrationComplete);
         if (!this.builders.containsKey(clazz)) {
             this.builders.put(clazz, builder);
+            this.builderCache.invalidateAll();
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Optional<DataSerializableBuilder<?>> resolveBuilder(Class<?> type) {
+        Map<Class<?>, DataSerializableBuilder<?>> builders = this.builders;
+        // Subtypes are always listed before their supertypes, so the closest builder wins
+        for (Class<?> superType : (Set<Class<?>>) (Set) TypeToken.of(type).getTypes().rawTypes()) {
+            DataSerializableBuilder<?> builder = builders.get(superType);
+            if (builder != null) {
+                return Optional.<DataSerializableBuilder<?>>of(builder);
+            }
         }
+        return Optional.absent();
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>If no builder is registered for the class itself, the builder of the
+     * closest superclass or interface is returned.</p>
+     */
     @Override
-    @SuppressWarnings("unchecked")
+    @SuppressWarnings({"unchecked", "rawtypes"})
     public <T extends DataSerializable> Optional<DataSerializableBuilder<T>> getBuilder(Class<T> clazz) {
         checkNotNull(clazz);
-        if (this.builders.containsKey(clazz)) {
-            return Optional.of((DataSerializableBuilder<T>) this.builders.get(clazz));
-        } else {
+        DataSerializableBuilder<?> builder = this.builders.get(clazz);
+        if (builder != null) {
+            return Optional.of((DataSerializableBuilder<T>) builder);
+        }
+        return (Optional) this.builderCache.getUnchecked(clazz);
+    }
+
+    /**
+     * Writes the object in the binary format of {@link BinaryDataCodec}.
+     *
+     * @param object The object to write
+     * @param out The stream to write to
+     * @param compress Whether the data should be compressed
+     * @throws IOException If the stream fails
+     */
+    public void serialize(DataSerializable object, OutputStream out, boolean compress) throws IOException {
+        checkNotNull(object);
+        BinaryDataCodec.getInstance().write(object.toContainer(), out, compress);
+    }
+
+    /**
+     * Reads an object written by
+     * {@link #serialize(DataSerializable, OutputStream, boolean)} using the
+     * builder registered for the class.
+     *
+     * @param clazz The class of the object
+     * @param in The stream to read from
+     * @return The object, if a builder is registered and built it
+     * @throws IOException If the stream fails or contains invalid data
+     */
+    public <T extends DataSerializable> Optional<T> deserialize(Class<T> clazz, InputStream in) throws IOException {
+        Optional<DataSerializableBuilder<T>> builder = getBuilder(clazz);
+        if (!builder.isPresent()) {
             return Optional.absent();
         }
+        return builder.get().build(BinaryDataCodec.getInstance().read(in));
     }
 }
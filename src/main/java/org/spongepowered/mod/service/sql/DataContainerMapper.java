@@ -0,0 +1,184 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered.org <http://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.service.sql;
+
+import com.google.common.collect.Lists;
+import org.spongepowered.api.service.persistence.data.DataContainer;
+import org.spongepowered.api.service.persistence.data.DataQuery;
+import org.spongepowered.api.service.persistence.data.MemoryDataContainer;
+import org.spongepowered.api.util.annotation.NonnullByDefault;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+/**
+ * Maps the rows of a result set to {@link DataContainer}s, with one value per
+ * column named by the column label. The queries and value readers for the
+ * columns are worked out from the metadata of the first result set and reused
+ * for later results with the same columns, so a mapper should be kept for
+ * each statement that is run repeatedly.
+ */
+@NonnullByDefault
+public final class DataContainerMapper implements SqlExecutor.ResultSetHandler<List<DataContainer>> {
+
+    private static final byte READ_OBJECT = 0;
+    private static final byte READ_INT = 1;
+    private static final byte READ_LONG = 2;
+    private static final byte READ_DOUBLE = 3;
+    private static final byte READ_BOOLEAN = 4;
+    private static final byte READ_STRING = 5;
+    private static final byte READ_BYTES = 6;
+    private static final byte READ_TIMESTAMP = 7;
+
+    @Nullable private volatile Columns columns;
+
+    @Override
+    public List<DataContainer> handle(ResultSet result) throws SQLException {
+        Columns columns = getColumns(result.getMetaData());
+        List<DataContainer> containers = Lists.newArrayList();
+        while (result.next()) {
+            containers.add(columns.read(result));
+        }
+        return containers;
+    }
+
+    private Columns getColumns(ResultSetMetaData meta) throws SQLException {
+        int count = meta.getColumnCount();
+        String[] labels = new String[count];
+        int[] types = new int[count];
+        for (int i = 0; i < count; i++) {
+            labels[i] = meta.getColumnLabel(i + 1);
+            types[i] = meta.getColumnType(i + 1);
+        }
+
+        Columns columns = this.columns;
+        if (columns == null || !Arrays.equals(columns.labels, labels) || !Arrays.equals(columns.types, types)) {
+            columns = new Columns(labels, types);
+            this.columns = columns;
+        }
+        return columns;
+    }
+
+    private static byte getReader(int type) {
+        switch (type) {
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+                return READ_INT;
+            case Types.BIGINT:
+                return READ_LONG;
+            case Types.REAL:
+            case Types.FLOAT:
+            case Types.DOUBLE:
+                return READ_DOUBLE;
+            case Types.BIT:
+            case Types.BOOLEAN:
+                return READ_BOOLEAN;
+            case Types.CHAR:
+            case Types.VARCHAR:
+            case Types.LONGVARCHAR:
+            case Types.NCHAR:
+            case Types.NVARCHAR:
+            case Types.LONGNVARCHAR:
+            case Types.CLOB:
+            case Types.NCLOB:
+                return READ_STRING;
+            case Types.BINARY:
+            case Types.VARBINARY:
+            case Types.LONGVARBINARY:
+            case Types.BLOB:
+                return READ_BYTES;
+            case Types.DATE:
+            case Types.TIME:
+            case Types.TIMESTAMP:
+                return READ_TIMESTAMP;
+            default:
+                return READ_OBJECT;
+        }
+    }
+
+    private static final class Columns {
+
+        final String[] labels;
+        final int[] types;
+        private final DataQuery[] queries;
+        private final byte[] readers;
+
+        Columns(String[] labels, int[] types) {
+            this.labels = labels;
+            this.types = types;
+            this.queries = new DataQuery[labels.length];
+            this.readers = new byte[labels.length];
+            for (int i = 0; i < labels.length; i++) {
+                // Labels are used as a single part, a dot in a label doesn't create a nested view
+                this.queries[i] = new DataQuery(labels[i]);
+                this.readers[i] = getReader(types[i]);
+            }
+        }
+
+        DataContainer read(ResultSet result) throws SQLException {
+            DataContainer container = new MemoryDataContainer();
+            for (int i = 0; i < this.queries.length; i++) {
+                Object value = read(result, i + 1, this.readers[i]);
+                if (value != null && !result.wasNull()) {
+                    container.set(this.queries[i], value);
+                }
+            }
+            return container;
+        }
+
+        @Nullable
+        private static Object read(ResultSet result, int column, byte reader) throws SQLException {
+            switch (reader) {
+                case READ_INT:
+                    return result.getInt(column);
+                case READ_LONG:
+                    return result.getLong(column);
+                case READ_DOUBLE:
+                    return result.getDouble(column);
+                case READ_BOOLEAN:
+                    return result.getBoolean(column);
+                case READ_STRING:
+                    return result.getString(column);
+                case READ_BYTES:
+                    return result.getBytes(column);
+                case READ_TIMESTAMP:
+                    // Stored as epoch milliseconds, the container has no date type
+                    Timestamp timestamp = result.getTimestamp(column);
+                    return timestamp == null ? null : timestamp.getTime();
+                default:
+                    return result.getObject(column);
+            }
+        }
+    }
+
+}
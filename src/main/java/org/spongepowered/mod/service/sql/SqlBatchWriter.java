@@ -0,0 +1,235 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered.org <http://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.service.sql;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.spongepowered.api.util.annotation.NonnullByDefault;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects the parameters of many executions of the same statement and
+ * writes them in JDBC batches, within a single transaction per flush.
+ *
+ * <p>The pending rows are flushed when the batch size is reached or after
+ * the maximum delay after the first pending row, whichever comes first. If
+ * too many rows are pending or being written, new rows are rejected until
+ * the database caught up. Once the executor is shut down, all new rows are
+ * rejected.</p>
+ */
+@NonnullByDefault
+public class SqlBatchWriter {
+
+    public static final int DEFAULT_BATCH_SIZE = 500;
+    public static final long DEFAULT_MAX_DELAY = 1000;
+    private static final int MAX_PENDING_BATCHES = 20;
+
+    private static final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("Sponge SQL Batch Timer").setDaemon(true).build());
+
+    private final SqlExecutor executor;
+    private final String sql;
+    private final int batchSize;
+    private final long maxDelay;
+    private final int maxPending;
+
+    // Guarded by this
+    private List<Object[]> pending = Lists.newArrayList();
+    private int pendingTotal;
+    private boolean flushScheduled;
+    private boolean shutdown;
+
+    private final Runnable scheduledFlush = new Runnable() {
+
+        @Override
+        public void run() {
+            flush();
+        }
+    };
+
+    SqlBatchWriter(SqlExecutor executor, String sql, int batchSize, long maxDelay, TimeUnit unit) {
+        checkArgument(batchSize > 0, "batchSize must be greater than zero");
+        this.executor = checkNotNull(executor, "executor");
+        this.sql = checkNotNull(sql, "sql");
+        this.batchSize = batchSize;
+        this.maxDelay = unit.toMillis(maxDelay);
+        this.maxPending = batchSize * MAX_PENDING_BATCHES;
+    }
+
+    public String getSql() {
+        return this.sql;
+    }
+
+    /**
+     * Adds a row with the parameters of the statement.
+     *
+     * @param params The parameters
+     * @return False if too many rows are pending or the executor was shut
+     *     down, and the row was rejected
+     */
+    public boolean offer(Object... params) {
+        boolean flush = false;
+        synchronized (this) {
+            if (this.shutdown || this.pendingTotal >= this.maxPending) {
+                return false;
+            }
+
+            this.pending.add(params.clone());
+            this.pendingTotal++;
+
+            if (this.pending.size() >= this.batchSize) {
+                flush = true;
+            } else if (!this.flushScheduled) {
+                this.flushScheduled = true;
+                timer.schedule(this.scheduledFlush, this.maxDelay, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        if (flush) {
+            flush();
+        }
+        return true;
+    }
+
+    /**
+     * Gets the amount of rows that were added, but are not yet written.
+     *
+     * @return The amount of pending rows
+     */
+    public synchronized int getPending() {
+        return this.pendingTotal;
+    }
+
+    /**
+     * Writes all pending rows.
+     *
+     * @return The future for the amount of written rows
+     */
+    public ListenableFuture<Integer> flush() {
+        final List<Object[]> rows;
+        synchronized (this) {
+            this.flushScheduled = false;
+            if (this.pending.isEmpty()) {
+                return Futures.immediateFuture(0);
+            }
+            rows = this.pending;
+            this.pending = Lists.newArrayList();
+        }
+
+        ListenableFuture<Integer> future;
+        try {
+            future = this.executor.submit(new SqlExecutor.ConnectionCallback<Integer>() {
+
+                @Override
+                public Integer call(Connection connection) throws SQLException {
+                    return write(connection, rows);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // The executor was shut down, nothing will ever write these
+            written(rows.size());
+            SqlExecutor.logger.error("Dropped " + rows.size() + " rows with " + this.sql + " after the executor was shut down");
+            return Futures.immediateFailedFuture(e);
+        }
+
+        Futures.addCallback(future, new FutureCallback<Integer>() {
+
+            @Override
+            public void onSuccess(Integer result) {
+                written(rows.size());
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                written(rows.size());
+                SqlExecutor.logger.error("Failed to write " + rows.size() + " rows with " + SqlBatchWriter.this.sql, t);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Rejects all rows offered from now on. Rows which are already pending
+     * can still be flushed.
+     */
+    synchronized void shutdown() {
+        this.shutdown = true;
+    }
+
+    private synchronized void written(int rows) {
+        this.pendingTotal -= rows;
+    }
+
+    private int write(Connection connection, List<Object[]> rows) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            PreparedStatement statement = connection.prepareStatement(this.sql);
+            try {
+                int batched = 0;
+                for (Object[] params : rows) {
+                    for (int i = 0; i < params.length; i++) {
+                        statement.setObject(i + 1, params[i]);
+                    }
+                    statement.addBatch();
+
+                    if (++batched == this.batchSize) {
+                        statement.executeBatch();
+                        batched = 0;
+                    }
+                }
+
+                if (batched > 0) {
+                    statement.executeBatch();
+                }
+            } finally {
+                statement.close();
+            }
+
+            connection.commit();
+            return rows.size();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+}
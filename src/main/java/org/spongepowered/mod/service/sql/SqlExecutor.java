@@ -0,0 +1,298 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered.org <http://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.service.sql;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.spongepowered.api.service.persistence.data.DataContainer;
+import org.spongepowered.api.util.annotation.NonnullByDefault;
+import org.spongepowered.mod.service.scheduler.SyncScheduler;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+/**
+ * Runs database work for a {@link DataSource} on its own worker threads. The
+ * amount of threads matches the size of the connection pool, so workers
+ * never wait for a connection of their own pool.
+ */
+@NonnullByDefault
+public class SqlExecutor {
+
+    // Same logger as the mod, but usable without the mod being loaded
+    static final Logger logger = LogManager.getLogger("Sponge");
+
+    private final DataSource dataSource;
+    private final ListeningExecutorService executor;
+    // Guarded by itself
+    private final Map<String, SqlBatchWriter> batchWriters = Maps.newHashMap();
+    private final LoadingCache<String, DataContainerMapper> mappers =
+            CacheBuilder.newBuilder().maximumSize(256).build(new CacheLoader<String, DataContainerMapper>() {
+
+                @Override
+                public DataContainerMapper load(String sql) {
+                    return new DataContainerMapper();
+                }
+            });
+
+    public SqlExecutor(DataSource dataSource, int threads) {
+        checkArgument(threads > 0, "threads must be greater than zero");
+        this.dataSource = checkNotNull(dataSource, "dataSource");
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+                new ThreadFactoryBuilder().setNameFormat("Sponge SQL Thread #%d").setDaemon(true).build());
+        executor.allowCoreThreadTimeOut(true); // Don't keep threads around for rarely used databases
+        this.executor = MoreExecutors.listeningDecorator(executor);
+    }
+
+    public DataSource getDataSource() {
+        return this.dataSource;
+    }
+
+    /**
+     * Runs the callback with a connection of the data source on a worker
+     * thread. The connection is closed once the callback returns.
+     *
+     * @param callback The callback
+     * @return The future for the result of the callback
+     */
+    public <T> ListenableFuture<T> submit(final ConnectionCallback<T> callback) {
+        checkNotNull(callback, "callback");
+        return this.executor.submit(new Callable<T>() {
+
+            @Override
+            public T call() throws Exception {
+                Connection connection = SqlExecutor.this.dataSource.getConnection();
+                try {
+                    return callback.call(connection);
+                } finally {
+                    connection.close();
+                }
+            }
+        });
+    }
+
+    /**
+     * Executes an update statement on a worker thread.
+     *
+     * @param sql The SQL of the statement
+     * @param params The parameters of the statement
+     * @return The future for the update count
+     */
+    public ListenableFuture<Integer> execute(final String sql, final Object... params) {
+        checkNotNull(sql, "sql");
+        return submit(new ConnectionCallback<Integer>() {
+
+            @Override
+            public Integer call(Connection connection) throws SQLException {
+                PreparedStatement statement = prepare(connection, sql, params);
+                try {
+                    return statement.executeUpdate();
+                } finally {
+                    statement.close();
+                }
+            }
+        });
+    }
+
+    /**
+     * Executes a query on a worker thread and passes the result to the
+     * handler, also on the worker thread.
+     *
+     * @param sql The SQL of the query
+     * @param handler The handler of the result
+     * @param params The parameters of the query
+     * @return The future for the result of the handler
+     */
+    public <T> ListenableFuture<T> query(final String sql, final ResultSetHandler<T> handler, final Object... params) {
+        checkNotNull(sql, "sql");
+        checkNotNull(handler, "handler");
+        return submit(new ConnectionCallback<T>() {
+
+            @Override
+            public T call(Connection connection) throws SQLException {
+                PreparedStatement statement = prepare(connection, sql, params);
+                try {
+                    ResultSet result = statement.executeQuery();
+                    try {
+                        return handler.handle(result);
+                    } finally {
+                        result.close();
+                    }
+                } finally {
+                    statement.close();
+                }
+            }
+        });
+    }
+
+    /**
+     * Executes a query on a worker thread and maps each row to a
+     * {@link DataContainer}. The column mapping is kept for each SQL string,
+     * so repeated queries don't have to inspect the result metadata again.
+     *
+     * @param sql The SQL of the query
+     * @param params The parameters of the query
+     * @return The future for the rows of the result
+     * @see DataContainerMapper
+     */
+    public ListenableFuture<List<DataContainer>> queryContainers(String sql, Object... params) {
+        checkNotNull(sql, "sql");
+        return query(sql, this.mappers.getUnchecked(sql), params);
+    }
+
+    static PreparedStatement prepare(Connection connection, String sql, Object... params) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql);
+        try {
+            for (int i = 0; i < params.length; i++) {
+                statement.setObject(i + 1, params[i]);
+            }
+        } catch (SQLException e) {
+            statement.close();
+            throw e;
+        }
+        return statement;
+    }
+
+    /**
+     * Adds a callback to the future that is called on the main thread once
+     * the future is done.
+     *
+     * @param plugin The plugin the callback belongs to
+     * @param future The future
+     * @param callback The callback
+     */
+    public static <T> void addCallback(final Object plugin, ListenableFuture<T> future, FutureCallback<? super T> callback) {
+        checkNotNull(plugin, "plugin");
+        Futures.addCallback(future, callback, new Executor() {
+
+            @Override
+            public void execute(Runnable command) {
+                SyncScheduler.getInstance().runTask(plugin, command);
+            }
+        });
+    }
+
+    /**
+     * Gets the batch writer for the statement, with the default batch size
+     * and delay.
+     *
+     * @param sql The SQL of the statement
+     * @return The batch writer
+     */
+    public SqlBatchWriter getBatchWriter(String sql) {
+        return getBatchWriter(sql, SqlBatchWriter.DEFAULT_BATCH_SIZE, SqlBatchWriter.DEFAULT_MAX_DELAY, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Gets the batch writer for the statement. If a writer for the statement
+     * already exists, it is returned with its original settings.
+     *
+     * @param sql The SQL of the statement
+     * @param batchSize The maximum amount of rows per batch
+     * @param maxDelay The maximum delay before pending rows are written
+     * @param unit The unit of the delay
+     * @return The batch writer
+     */
+    public SqlBatchWriter getBatchWriter(String sql, int batchSize, long maxDelay, TimeUnit unit) {
+        checkNotNull(sql, "sql");
+        synchronized (this.batchWriters) {
+            SqlBatchWriter writer = this.batchWriters.get(sql);
+            if (writer == null) {
+                writer = new SqlBatchWriter(this, sql, batchSize, maxDelay, unit);
+                this.batchWriters.put(sql, writer);
+            }
+            return writer;
+        }
+    }
+
+    /**
+     * Writes all pending batches and waits for all work to finish.
+     */
+    void shutdown() {
+        List<SqlBatchWriter> writers;
+        synchronized (this.batchWriters) {
+            writers = ImmutableList.copyOf(this.batchWriters.values());
+        }
+
+        for (SqlBatchWriter writer : writers) {
+            writer.shutdown();
+            try {
+                writer.flush().get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                // Already logged by the writer
+            }
+        }
+
+        this.executor.shutdown();
+        try {
+            if (!this.executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                logger.warn("Timed out waiting for SQL work to finish");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public interface ConnectionCallback<T> {
+
+        T call(Connection connection) throws SQLException;
+    }
+
+    public interface ResultSetHandler<T> {
+
+        T handle(ResultSet result) throws SQLException;
+    }
+
+}
@@ -24,31 +24,47 @@
  */
 package org.spongepowered.mod.service.sql;
 
+import com.google.common.base.Objects;
 import com.google.common.base.Optional;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
-import com.google.common.cache.RemovalListener;
-import com.google.common.cache.RemovalNotification;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import org.spongepowered.api.service.sql.SqlService;
 import org.spongepowered.api.util.annotation.NonnullByDefault;
+import org.spongepowered.mod.configuration.SpongeConfig;
 import org.spongepowered.mod.mixin.plugin.CoreMixinPlugin;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import javax.management.ObjectName;
 import javax.sql.DataSource;
 
 
@@ -60,9 +76,10 @@ import javax.sql.DataSource;
  *     - It allows applying additional driver-specific connection
  *     properties -- this allows us to do some light performance tuning in
  *     cases where we don't want to be as conservative as the driver developers
- *     - Caches DataSources. This cache is currently never cleared of stale entries
- *     -- if some plugin makes database connections to a ton of different databases
- *     we may want to implement this, but it is kinda unimportant.
+ *     - Caches DataSources. Pools which nobody holds a data source or
+ *     executor for and which have no connections in use are closed in the
+ *     background after the configured idle expiry, and pools are sized per
+ *     alias from the sql section of the global config.
  */
 @NonnullByDefault
 public class SqlServiceImpl implements SqlService, Closeable {
@@ -78,50 +95,371 @@ public class SqlServiceImpl implements SqlService, Closeable {
         build.put("com.mysql.jdbc.Driver", mySqlProps);
         build.put("org.mariadb.jdbc.Driver", mySqlProps);
 
+        final Properties h2Props = new Properties();
+        h2Props.setProperty("QUERY_CACHE_SIZE", "64"); // Parsed statements kept per session, defaults to 8
+        build.put("org.h2.Driver", h2Props);
+
         PROTOCOL_SPECIFIC_PROPS = build.build();
     }
 
-    private final LoadingCache<ConnectionInfo, HikariDataSource> connectionCache =
-            CacheBuilder.newBuilder().removalListener(new RemovalListener<ConnectionInfo, HikariDataSource>() {
-                @Override
-                public void onRemoval(RemovalNotification<ConnectionInfo, HikariDataSource> notification) {
-                    HikariDataSource source = notification.getValue();
-                    if (source != null) {
-                        source.close();
-                    }
+    // Guarded by pools, as are the handles and executors of the pools
+    private final Map<ConnectionInfo, PooledDataSource> pools = Maps.newHashMap();
+    // Pools which are being opened, so only the callers asking for the same connection wait for them
+    private final Map<ConnectionInfo, SettableFuture<PooledDataSource>> opening = Maps.newHashMap();
+    private final AtomicInteger poolIds = new AtomicInteger();
+    private final ScheduledExecutorService cleaner = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("Sponge SQL Pool Cleaner").setDaemon(true).build());
+
+    public SqlServiceImpl() {
+        this.cleaner.scheduleWithFixedDelay(new Runnable() {
+
+            @Override
+            public void run() {
+                closeIdlePools();
+            }
+        }, 1, 1, TimeUnit.MINUTES);
+    }
+
+    @Override
+    public DataSource getDataSource(String jdbcConnection) throws SQLException {
+        ConnectionInfo info = ConnectionInfo.fromUrl(getConnectionUrlFromAlias(jdbcConnection).or(jdbcConnection));
+        while (true) {
+            PooledDataSource pool = getPool(info);
+            synchronized (this.pools) {
+                // The pool may have been closed as idle in the meantime
+                if (this.pools.get(info) == pool) {
+                    return pool.getHandle();
                 }
-            }).build(new CacheLoader<ConnectionInfo, HikariDataSource>() {
-                @Override
-                public HikariDataSource load(@Nonnull ConnectionInfo key) throws Exception {
-                    HikariConfig config = new HikariConfig();
-                    config.setUsername(key.getUser());
-                    config.setPassword(key.getPassword());
-                    config.setDriverClassName(key.getDriverClassName());
-                    // https://github.com/brettwooldridge/HikariCP/wiki/About-Pool-Sizing for info on pool sizing
-                    config.setMaximumPoolSize((Runtime.getRuntime().availableProcessors() * 2) + 1);
-                    Properties driverSpecificProperties = PROTOCOL_SPECIFIC_PROPS.get(key.getDriverClassName());
-                    if (driverSpecificProperties != null) {
-                        config.setDataSourceProperties(driverSpecificProperties);
+            }
+        }
+    }
+
+    /**
+     * Gets the executor for the data source of the connection. It runs
+     * database work on as many threads as the connection pool has
+     * connections.
+     *
+     * @param jdbcConnection The JDBC URL or alias of the connection
+     * @return The executor for the data source
+     * @throws SQLException If the connection is invalid
+     */
+    public SqlExecutor getExecutor(String jdbcConnection) throws SQLException {
+        ConnectionInfo info = ConnectionInfo.fromUrl(getConnectionUrlFromAlias(jdbcConnection).or(jdbcConnection));
+        while (true) {
+            PooledDataSource pool = getPool(info);
+            synchronized (this.pools) {
+                if (this.pools.get(info) == pool) {
+                    if (pool.executor == null) {
+                        pool.executor = new SqlExecutor(pool.getHandle(), pool.getMaximumPoolSize());
                     }
-                    config.setJdbcUrl(key.getAuthlessUrl());
-                    return new HikariDataSource(config);
+                    return pool.executor;
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the connection pools which are currently open.
+     *
+     * @return The open connection pools
+     */
+    public Collection<PooledDataSource> getDataSources() {
+        synchronized (this.pools) {
+            return ImmutableList.copyOf(this.pools.values());
+        }
+    }
+
+    /**
+     * Gets the pool for the connection, opening it if necessary. Opening a
+     * pool connects to the database, so it happens without holding the lock
+     * on pools.
+     */
+    private PooledDataSource getPool(ConnectionInfo info) throws SQLException {
+        SettableFuture<PooledDataSource> future;
+        boolean open = false;
+        synchronized (this.pools) {
+            PooledDataSource pool = this.pools.get(info);
+            if (pool != null) {
+                return pool;
+            }
+            future = this.opening.get(info);
+            if (future == null) {
+                future = SettableFuture.create();
+                this.opening.put(info, future);
+                open = true;
+            }
+        }
+
+        if (open) {
+            try {
+                PooledDataSource pool = openPool(info);
+                synchronized (this.pools) {
+                    this.opening.remove(info);
+                    this.pools.put(info, pool);
                 }
-            });
+                future.set(pool);
+                return pool;
+            } catch (RuntimeException e) {
+                synchronized (this.pools) {
+                    this.opening.remove(info);
+                }
+                future.setException(e);
+                throw new SQLException(e);
+            }
+        }
 
-    @Override
-    public DataSource getDataSource(String jdbcConnection) throws SQLException {
-        jdbcConnection = getConnectionUrlFromAlias(jdbcConnection).or(jdbcConnection);
-        ConnectionInfo info = ConnectionInfo.fromUrl(jdbcConnection);
         try {
-            return this.connectionCache.get(info);
+            return future.get();
         } catch (ExecutionException e) {
+            throw new SQLException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
             throw new SQLException(e);
         }
     }
 
+    private PooledDataSource openPool(ConnectionInfo info) {
+        SpongeConfig.SqlCategory sql = CoreMixinPlugin.getGlobalConfig().getConfig().getSql();
+        String alias = getAliasFromUrl(info.getFullUrl()).orNull();
+        HikariConfig config = new HikariConfig();
+        config.setUsername(info.getUser());
+        config.setPassword(info.getPassword());
+        config.setDriverClassName(info.getDriverClassName());
+        config.setMaximumPoolSize(getPoolSize(sql, alias));
+        Properties driverSpecificProperties = PROTOCOL_SPECIFIC_PROPS.get(info.getDriverClassName());
+        if (driverSpecificProperties != null) {
+            config.setDataSourceProperties(driverSpecificProperties);
+        }
+        config.setJdbcUrl(info.getAuthlessUrl());
+        // Pool names end up in JMX object names, so the alias (which may contain anything) is kept separately
+        config.setPoolName("sponge-sql-" + this.poolIds.incrementAndGet());
+        config.setRegisterMbeans(true);
+        return new PooledDataSource(config, info, alias);
+    }
+
+    /**
+     * Closes the pools that nobody can use anymore: nothing holds a data
+     * source handed out for them, they have no executor, none of their
+     * connections are in use, and this has been the case for the configured
+     * idle expiry. Runs on the cleaner thread, so closing doesn't block
+     * anyone asking for a data source.
+     */
+    private void closeIdlePools() {
+        long now = System.nanoTime();
+        long expiry = TimeUnit.MINUTES.toNanos(getIdlePoolExpiry());
+        List<PooledDataSource> idle = Lists.newArrayList();
+        synchronized (this.pools) {
+            for (Iterator<PooledDataSource> it = this.pools.values().iterator(); it.hasNext();) {
+                PooledDataSource pool = it.next();
+                if (pool.isReferenced() || pool.getActiveConnections() != 0) {
+                    pool.lastReferenced = now;
+                } else if (now - pool.lastReferenced > expiry) {
+                    // New handles are only created with the lock held, so the pool can't be picked up again
+                    it.remove();
+                    idle.add(pool);
+                }
+            }
+        }
+        for (PooledDataSource pool : idle) {
+            pool.close();
+        }
+    }
+
+    private Optional<String> getAliasFromUrl(String jdbcConnection) {
+        for (Map.Entry<String, String> entry : CoreMixinPlugin.getGlobalConfig().getConfig().getSql().getAliases().entrySet()) {
+            if (jdbcConnection.equals(entry.getValue())) {
+                return Optional.of(entry.getKey());
+            }
+        }
+        return Optional.absent();
+    }
+
+    private static int getIdlePoolExpiry() {
+        return Math.max(1, CoreMixinPlugin.getGlobalConfig().getConfig().getSql().getIdlePoolExpiry());
+    }
+
+    private static int getPoolSize(SpongeConfig.SqlCategory sql, @Nullable String alias) {
+        Integer size = alias == null ? null : sql.getPoolSizes().get(alias);
+        if (size != null && size > 0) {
+            return size;
+        }
+        if (sql.getDefaultPoolSize() > 0) {
+            return sql.getDefaultPoolSize();
+        }
+        // https://github.com/brettwooldridge/HikariCP/wiki/About-Pool-Sizing for info on pool sizing
+        return (Runtime.getRuntime().availableProcessors() * 2) + 1;
+    }
+
     @Override
     public void close() throws IOException {
-        this.connectionCache.invalidateAll();
+        this.cleaner.shutdownNow();
+        List<PooledDataSource> pools;
+        synchronized (this.pools) {
+            pools = ImmutableList.copyOf(this.pools.values());
+            this.pools.clear();
+        }
+        for (PooledDataSource pool : pools) {
+            if (pool.executor != null) {
+                pool.executor.shutdown();
+            }
+            pool.close();
+        }
+    }
+
+    /**
+     * A connection pool which records how long connections take to acquire.
+     * Plugins are given {@link DataSource}s wrapping the pool rather than the
+     * pool itself, so the pool can tell when nobody holds it anymore.
+     */
+    public static class PooledDataSource extends HikariDataSource {
+
+        private final ConnectionInfo info;
+        @Nullable private final String alias;
+        private final AtomicLong acquired = new AtomicLong();
+        private final AtomicLong acquireTime = new AtomicLong();
+        private volatile long maxAcquireTime;
+
+        // Guarded by the pools of the service
+        private WeakReference<DataSource> handle = new WeakReference<DataSource>(null);
+        @Nullable SqlExecutor executor;
+        long lastReferenced = System.nanoTime();
+
+        PooledDataSource(HikariConfig config, ConnectionInfo info, @Nullable String alias) {
+            super(config);
+            this.info = info;
+            this.alias = alias;
+        }
+
+        DataSource getHandle() {
+            DataSource handle = this.handle.get();
+            if (handle == null) {
+                handle = new DataSourceHandle(this);
+                this.handle = new WeakReference<DataSource>(handle);
+            }
+            return handle;
+        }
+
+        boolean isReferenced() {
+            return this.handle.get() != null || this.executor != null;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            long start = System.nanoTime();
+            Connection connection = super.getConnection();
+            long time = System.nanoTime() - start;
+            this.acquired.incrementAndGet();
+            this.acquireTime.addAndGet(time);
+            if (time > this.maxAcquireTime) {
+                this.maxAcquireTime = time;
+            }
+            return connection;
+        }
+
+        /**
+         * Gets the alias this pool was opened through, or the URL without
+         * authentication if it was opened directly.
+         *
+         * @return The name of this pool
+         */
+        public String getDisplayName() {
+            return this.alias != null ? this.alias : this.info.getAuthlessUrl();
+        }
+
+        public int getActiveConnections() {
+            return getPoolAttribute("ActiveConnections");
+        }
+
+        public int getIdleConnections() {
+            return getPoolAttribute("IdleConnections");
+        }
+
+        public int getTotalConnections() {
+            return getPoolAttribute("TotalConnections");
+        }
+
+        public int getThreadsAwaitingConnection() {
+            return getPoolAttribute("ThreadsAwaitingConnection");
+        }
+
+        public long getAcquiredConnections() {
+            return this.acquired.get();
+        }
+
+        public double getAverageAcquireMillis() {
+            long acquired = this.acquired.get();
+            return acquired == 0 ? 0 : this.acquireTime.get() / (acquired * 1000000D);
+        }
+
+        public double getMaxAcquireMillis() {
+            return this.maxAcquireTime / 1000000D;
+        }
+
+        private int getPoolAttribute(String attribute) {
+            try {
+                ObjectName name = new ObjectName("com.zaxxer.hikari:type=Pool (" + getPoolName() + ")");
+                return ((Number) ManagementFactory.getPlatformMBeanServer().getAttribute(name, attribute)).intValue();
+            } catch (Exception e) {
+                return -1;
+            }
+        }
+    }
+
+    private static final class DataSourceHandle implements DataSource {
+
+        private final PooledDataSource pool;
+
+        DataSourceHandle(PooledDataSource pool) {
+            this.pool = pool;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return this.pool.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return this.pool.getConnection(username, password);
+        }
+
+        @Override
+        public PrintWriter getLogWriter() throws SQLException {
+            return this.pool.getLogWriter();
+        }
+
+        @Override
+        public void setLogWriter(PrintWriter out) throws SQLException {
+            this.pool.setLogWriter(out);
+        }
+
+        @Override
+        public void setLoginTimeout(int seconds) throws SQLException {
+            this.pool.setLoginTimeout(seconds);
+        }
+
+        @Override
+        public int getLoginTimeout() throws SQLException {
+            return this.pool.getLoginTimeout();
+        }
+
+        // Part of DataSource since Java 7
+        public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+            throw new SQLFeatureNotSupportedException();
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> iface) throws SQLException {
+            if (iface.isInstance(this)) {
+                return iface.cast(this);
+            }
+            return this.pool.unwrap(iface);
+        }
+
+        @Override
+        public boolean isWrapperFor(Class<?> iface) throws SQLException {
+            return iface.isInstance(this) || this.pool.isWrapperFor(iface);
+        }
     }
 
     public static class ConnectionInfo {
@@ -171,6 +509,24 @@ public class SqlServiceImpl implements SqlService, Closeable {
             return this.fullUrl;
         }
 
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof ConnectionInfo)) {
+                return false;
+            }
+            ConnectionInfo other = (ConnectionInfo) obj;
+            return Objects.equal(this.user, other.user) && Objects.equal(this.password, other.password)
+                    && this.driverClassName.equals(other.driverClassName) && this.authlessUrl.equals(other.authlessUrl);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(this.user, this.password, this.driverClassName, this.authlessUrl);
+        }
+
         /**
          * Extracts the connection info from a JDBC url with additional authentication information as specified in {@link SqlService}.
          *
@@ -0,0 +1,213 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered.org <http://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.status;
+
+import org.spongepowered.mod.configuration.SpongeConfig;
+import org.spongepowered.mod.mixin.plugin.CoreMixinPlugin;
+
+import java.net.InetAddress;
+
+/**
+ * Limits the rate of server list pings per client address using a token
+ * bucket for each address.
+ *
+ * <p>The buckets are stored in an open addressing hash table of primitive
+ * arrays, so tracking an address doesn't allocate any objects. Buckets that
+ * have been idle long enough to be full again are equivalent to untracked
+ * addresses and are dropped whenever the table needs to grow.</p>
+ */
+public final class PingRateLimiter {
+
+    private static final PingRateLimiter instance = new PingRateLimiter();
+
+    private static final int INITIAL_CAPACITY = 64;
+    private static final long IPV4_MARKER = 1L << 32;
+
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private long[] timestamps = new long[INITIAL_CAPACITY]; // 0 marks an empty slot
+    private double[] tokens = new double[INITIAL_CAPACITY];
+    private int size;
+
+    private long allowed;
+    private long throttled;
+
+    private PingRateLimiter() {
+    }
+
+    public static PingRateLimiter getInstance() {
+        return instance;
+    }
+
+    /**
+     * Attempts to take a token from the bucket of the given address using the
+     * limits from the global configuration.
+     *
+     * @param address The address of the client
+     * @return Whether the client may be sent a response
+     */
+    public boolean tryAcquire(InetAddress address) {
+        SpongeConfig.NetworkCategory config = CoreMixinPlugin.getGlobalConfig().getConfig().getNetwork();
+        if (!config.isPingLimitEnabled()) {
+            return true;
+        }
+
+        return tryAcquire(address, config.getPingLimitRate(), config.getPingLimitBurst());
+    }
+
+    /**
+     * Attempts to take a token from the bucket of the given address.
+     *
+     * @param address The address of the client
+     * @param rate The number of tokens refilled per second
+     * @param burst The maximum number of tokens in a bucket
+     * @return Whether the client may be sent a response
+     */
+    public synchronized boolean tryAcquire(InetAddress address, double rate, int burst) {
+        long now = System.currentTimeMillis();
+        long key = toKey(address);
+
+        int index = find(key);
+        double available;
+        if (index < 0) {
+            if ((this.size + 1) * 2 > this.keys.length) {
+                rehash(now, rate, burst);
+            }
+
+            index = ~find(key);
+            this.keys[index] = key;
+            this.size++;
+            available = burst;
+        } else {
+            available = Math.min(burst, this.tokens[index] + (now - this.timestamps[index]) * rate / 1000);
+        }
+
+        this.timestamps[index] = now;
+        if (available >= 1) {
+            this.tokens[index] = available - 1;
+            this.allowed++;
+            return true;
+        } else {
+            this.tokens[index] = available;
+            this.throttled++;
+            return false;
+        }
+    }
+
+    public synchronized long getAllowed() {
+        return this.allowed;
+    }
+
+    public synchronized long getThrottled() {
+        return this.throttled;
+    }
+
+    public synchronized int getTrackedAddresses() {
+        return this.size;
+    }
+
+    /**
+     * Resets all buckets and counters.
+     */
+    public synchronized void clear() {
+        this.keys = new long[INITIAL_CAPACITY];
+        this.timestamps = new long[INITIAL_CAPACITY];
+        this.tokens = new double[INITIAL_CAPACITY];
+        this.size = 0;
+        this.allowed = 0;
+        this.throttled = 0;
+    }
+
+    /**
+     * Returns the slot of the given key, or the inverted index of the empty
+     * slot where it would be inserted.
+     */
+    private int find(long key) {
+        int mask = this.keys.length - 1;
+        int index = hash(key) & mask;
+        while (this.timestamps[index] != 0) {
+            if (this.keys[index] == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return ~index;
+    }
+
+    private void rehash(long now, double rate, int burst) {
+        long[] oldKeys = this.keys;
+        long[] oldTimestamps = this.timestamps;
+        double[] oldTokens = this.tokens;
+
+        // Buckets that would be refilled completely by now don't need to be kept
+        long expiry = rate > 0 ? (long) Math.ceil(burst * 1000 / rate) : Long.MAX_VALUE;
+
+        int live = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldTimestamps[i] != 0 && now - oldTimestamps[i] < expiry) {
+                live++;
+            }
+        }
+
+        int capacity = INITIAL_CAPACITY;
+        while (capacity < (live + 1) * 4) {
+            capacity <<= 1;
+        }
+
+        this.keys = new long[capacity];
+        this.timestamps = new long[capacity];
+        this.tokens = new double[capacity];
+        this.size = 0;
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldTimestamps[i] != 0 && now - oldTimestamps[i] < expiry) {
+                int index = ~find(oldKeys[i]);
+                this.keys[index] = oldKeys[i];
+                this.timestamps[index] = oldTimestamps[i];
+                this.tokens[index] = oldTokens[i];
+                this.size++;
+            }
+        }
+    }
+
+    private static long toKey(InetAddress address) {
+        byte[] bytes = address.getAddress();
+        if (bytes.length == 4) {
+            return IPV4_MARKER | ((bytes[0] & 0xFFL) << 24) | ((bytes[1] & 0xFFL) << 16) | ((bytes[2] & 0xFFL) << 8) | (bytes[3] & 0xFFL);
+        }
+
+        // IPv6 clients can usually pick any address in their /64 network, so only the network prefix is used
+        long key = 0;
+        for (int i = 0; i < 8; i++) {
+            key = (key << 8) | (bytes[i] & 0xFFL);
+        }
+        return key;
+    }
+
+    private static int hash(long key) {
+        key *= 0x9E3779B97F4A7C15L;
+        return (int) (key ^ (key >>> 32));
+    }
+
+}
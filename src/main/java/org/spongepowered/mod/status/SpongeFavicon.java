@@ -31,6 +31,7 @@ import static com.google.common.base.Preconditions.checkState;
 import com.google.common.base.Charsets;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Objects;
+import com.google.gson.JsonPrimitive;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufInputStream;
 import io.netty.buffer.ByteBufOutputStream;
@@ -49,22 +50,35 @@ import javax.imageio.ImageIO;
 public class SpongeFavicon implements Favicon {
 
     private final String encoded;
+    private final String json;
     private final BufferedImage decoded;
 
     public SpongeFavicon(BufferedImage decoded) throws IOException {
         this.decoded = checkNotNull(decoded, "decoded");
         this.encoded = encode(decoded);
+        this.json = new JsonPrimitive(this.encoded).toString();
     }
 
     public SpongeFavicon(String encoded) throws IOException {
         this.encoded = checkNotNull(encoded, "encoded");
         this.decoded = decode(encoded);
+        this.json = new JsonPrimitive(this.encoded).toString();
     }
 
     public String getEncoded() {
         return this.encoded;
     }
 
+    /**
+     * Gets the encoded favicon as an escaped JSON string literal, so it
+     * doesn't need to be escaped again for every status response.
+     *
+     * @return The favicon as JSON string
+     */
+    public String getJson() {
+        return this.json;
+    }
+
     @Override
     public BufferedImage getImage() {
         return this.decoded;
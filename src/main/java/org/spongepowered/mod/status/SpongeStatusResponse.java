@@ -26,24 +26,123 @@ package org.spongepowered.mod.status;
 
 import static java.util.regex.Pattern.CASE_INSENSITIVE;
 
+import com.google.common.base.Charsets;
+import com.google.common.base.Optional;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.EncoderException;
 import net.minecraft.network.ServerStatusResponse;
+import net.minecraft.network.status.server.S00PacketServerInfo;
 import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.IChatComponent;
 import org.spongepowered.api.MinecraftVersion;
 import org.spongepowered.api.event.SpongeEventFactory;
 import org.spongepowered.api.event.server.StatusPingEvent;
+import org.spongepowered.api.status.Favicon;
 import org.spongepowered.api.status.StatusClient;
 import org.spongepowered.api.status.StatusResponse;
 import org.spongepowered.mod.SpongeMod;
+import org.spongepowered.mod.event.SpongeEventBus;
 import org.spongepowered.mod.text.SpongeText;
 
 import java.net.InetSocketAddress;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
+import javax.annotation.Nullable;
+
 public final class SpongeStatusResponse {
 
+    private static final long CACHE_DURATION = 1000;
+    private static final int MAX_RESPONSE_LENGTH = 32767;
+
+    private static final int LEGACY_PING_THREADS = 2;
+    private static final int LEGACY_PING_QUEUE_SIZE = 256;
+
+    private static volatile CachedResponse cached;
+
+    // Plugins may take a while to handle the ping event, so they are called outside of the network threads
+    private static final ExecutorService legacyPingExecutor = new ThreadPoolExecutor(LEGACY_PING_THREADS, LEGACY_PING_THREADS,
+            0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<Runnable>(LEGACY_PING_QUEUE_SIZE),
+            new ThreadFactoryBuilder().setNameFormat("Sponge Legacy Ping Thread #%d").setDaemon(true).build());
+
     private SpongeStatusResponse() {
     }
 
+    /**
+     * Checks whether any plugin is able to modify status responses. If not,
+     * the response of the server can be sent directly without cloning it.
+     *
+     * @return Whether there are handlers for {@link StatusPingEvent}
+     */
+    public static boolean hasListeners() {
+        return ((SpongeEventBus) SpongeMod.instance.getGame().getEventManager()).hasHandlers(StatusPingEvent.class);
+    }
+
+    /**
+     * Gets a status packet for the current server status that can be shared
+     * between all clients. The packet serializes its response only once, and
+     * is re-created when the MOTD, the player count or the favicon of the
+     * server changes, but at least once every second.
+     *
+     * @param server The server to get the status for
+     * @return The shared status packet
+     */
+    public static S00PacketServerInfo getCachedPacket(MinecraftServer server) {
+        ServerStatusResponse response = server.getServerStatusResponse();
+        long now = System.currentTimeMillis();
+
+        CachedResponse cached = SpongeStatusResponse.cached;
+        if (cached == null || !cached.isValid(response, now)) {
+            SpongeStatusResponse.cached = cached = new CachedResponse(response, now + CACHE_DURATION);
+        }
+        return cached.packet;
+    }
+
+    /**
+     * Serializes the given response to JSON. The favicon is appended from its
+     * pre-encoded form because escaping it takes most of the time spent
+     * serializing the response.
+     *
+     * @param gson The Gson instance with the status serializers registered
+     * @param response The response to serialize
+     * @return The UTF-8 encoded JSON
+     */
+    public static byte[] serialize(Gson gson, ServerStatusResponse response) {
+        Optional<Favicon> favicon = ((StatusResponse) response).getFavicon();
+        JsonObject json = gson.toJsonTree(response).getAsJsonObject();
+
+        String result;
+        if (favicon.isPresent()) {
+            json.remove("favicon");
+            String partial = gson.toJson(json);
+            String encoded = ((SpongeFavicon) favicon.get()).getJson();
+
+            StringBuilder builder = new StringBuilder(partial.length() + encoded.length() + 12);
+            builder.append(partial, 0, partial.length() - 1);
+            if (json.entrySet().size() > 0) {
+                builder.append(',');
+            }
+            result = builder.append("\"favicon\":").append(encoded).append('}').toString();
+        } else {
+            result = gson.toJson(json);
+        }
+
+        byte[] bytes = result.getBytes(Charsets.UTF_8);
+        if (bytes.length > MAX_RESPONSE_LENGTH) {
+            throw new EncoderException("String too big (was " + bytes.length + " bytes encoded, max " + MAX_RESPONSE_LENGTH + ")");
+        }
+        return bytes;
+    }
+
     public static ServerStatusResponse post(MinecraftServer server, StatusClient client) {
         return call(create(server), client);
     }
@@ -60,6 +159,70 @@ public final class SpongeStatusResponse {
         return response;
     }
 
+    /**
+     * Responds to a legacy (pre-Netty) ping. If plugins listen for
+     * {@link StatusPingEvent}, the event is posted on a separate thread so
+     * slow handlers can't stall the network thread of the client. If too many
+     * pings are waiting for a response, the connection is closed instead.
+     *
+     * @param ctx The channel context of the client
+     * @param server The server to respond for
+     * @param address The address of the client
+     * @param version The legacy protocol version used by the client
+     * @param virtualHost The host the client connected to, if known
+     */
+    public static void respondLegacy(final ChannelHandlerContext ctx, final MinecraftServer server, final InetSocketAddress address,
+            final MinecraftVersion version, @Nullable final InetSocketAddress virtualHost) {
+        if (!hasListeners()) {
+            writeLegacy(ctx, version, postLegacy(server, address, version, virtualHost));
+            return;
+        }
+
+        try {
+            legacyPingExecutor.execute(new Runnable() {
+
+                @Override
+                public void run() {
+                    writeLegacy(ctx, version, postLegacy(server, address, version, virtualHost));
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            ctx.close();
+        }
+    }
+
+    private static void writeLegacy(ChannelHandlerContext ctx, MinecraftVersion version, @Nullable ServerStatusResponse response) {
+        if (response == null) {
+            ctx.close();
+            return;
+        }
+
+        StringBuilder builder = new StringBuilder(64);
+        if (version == SpongeLegacyMinecraftVersion.V1_3) {
+            builder.append(getUnformattedMotd(response))
+                    .append(SpongeText.COLOR_CHAR).append(response.getPlayerCountData().getOnlinePlayerCount())
+                    .append(SpongeText.COLOR_CHAR).append(response.getPlayerCountData().getMaxPlayers());
+        } else {
+            builder.append(SpongeText.COLOR_CHAR).append('1')
+                    .append('\u0000').append(response.getProtocolVersionInfo().getProtocol())
+                    .append('\u0000').append(response.getProtocolVersionInfo().getName())
+                    .append('\u0000').append(getMotd(response))
+                    .append('\u0000').append(response.getPlayerCountData().getOnlinePlayerCount())
+                    .append('\u0000').append(response.getPlayerCountData().getMaxPlayers());
+        }
+
+        // Encode the response directly instead of creating a string and copying it
+        int length = builder.length();
+        ByteBuf buf = ctx.alloc().buffer(3 + length * 2);
+        buf.writeByte(0xFF);
+        buf.writeShort(length);
+        for (int i = 0; i < length; i++) {
+            buf.writeChar(builder.charAt(i));
+        }
+
+        ctx.pipeline().firstContext().writeAndFlush(buf).addListener(ChannelFutureListener.CLOSE);
+    }
+
     private static ServerStatusResponse call(ServerStatusResponse response, StatusClient client) {
         if (!SpongeMod.instance.getGame().getEventManager().post(SpongeEventFactory.createStatusPing(SpongeMod.instance.getGame(), client,
                 (StatusPingEvent.Response) response))) {
@@ -112,4 +275,38 @@ public final class SpongeStatusResponse {
         return getFirstLine(STRIP_FORMATTING.matcher(response.getServerDescription().getUnformattedText()).replaceAll(""));
     }
 
+    private static final class CachedResponse {
+
+        private final ServerStatusResponse response;
+        private final IChatComponent motd;
+        private final ServerStatusResponse.PlayerCountData players;
+        private final int online;
+        private final String favicon;
+        private final ServerStatusResponse.MinecraftProtocolVersionIdentifier version;
+        private final long expires;
+
+        final S00PacketServerInfo packet;
+
+        CachedResponse(ServerStatusResponse response, long expires) {
+            this.response = response;
+            this.motd = response.getServerDescription();
+            this.players = response.getPlayerCountData();
+            this.online = this.players != null ? this.players.getOnlinePlayerCount() : -1;
+            this.favicon = response.getFavicon();
+            this.version = response.getProtocolVersionInfo();
+            this.expires = expires;
+            this.packet = new S00PacketServerInfo(response);
+        }
+
+        boolean isValid(ServerStatusResponse response, long now) {
+            return now < this.expires
+                    && this.response == response
+                    && this.motd == response.getServerDescription()
+                    && this.players == response.getPlayerCountData()
+                    && (this.players == null || this.online == this.players.getOnlinePlayerCount())
+                    && this.favicon == response.getFavicon()
+                    && this.version == response.getProtocolVersionInfo();
+        }
+    }
+
 }
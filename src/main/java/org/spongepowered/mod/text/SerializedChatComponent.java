@@ -0,0 +1,74 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered.org <http://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.text;
+
+import com.google.common.base.Charsets;
+import io.netty.handler.codec.EncoderException;
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.util.IChatComponent;
+import org.spongepowered.mod.interfaces.IMixinChatPacket;
+
+import java.io.IOException;
+
+import javax.annotation.Nullable;
+
+/**
+ * A chat component already serialized to JSON, which is written by the
+ * packets implementing {@link IMixinChatPacket} instead of serializing their
+ * component again for every connection.
+ */
+public final class SerializedChatComponent {
+
+    private final byte[] json;
+
+    public SerializedChatComponent(String json) {
+        this.json = json.getBytes(Charsets.UTF_8);
+    }
+
+    /**
+     * Writes the serialized component if the packet has one, or serializes
+     * the component of the packet otherwise.
+     *
+     * @param buf The buffer to write to
+     * @param component The component of the packet
+     * @param serialized The serialized component of the packet, if any
+     * @throws IOException If the component can't be serialized
+     */
+    public static void write(PacketBuffer buf, IChatComponent component, @Nullable SerializedChatComponent serialized) throws IOException {
+        if (serialized == null) {
+            buf.writeChatComponent(component);
+            return;
+        }
+
+        byte[] json = serialized.json;
+        if (json.length > Short.MAX_VALUE) {
+            throw new EncoderException("String too big (was " + json.length + " bytes encoded, max " + Short.MAX_VALUE + ")");
+        }
+
+        buf.writeVarIntToBuffer(json.length);
+        buf.writeBytes(json);
+    }
+
+}
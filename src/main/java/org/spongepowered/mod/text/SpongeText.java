@@ -24,14 +24,68 @@
  */
 package org.spongepowered.mod.text;
 
+import com.google.gson.stream.JsonWriter;
+import net.minecraft.network.play.server.S02PacketChat;
+import net.minecraft.util.EnumChatFormatting;
 import net.minecraft.util.IChatComponent;
 
+import java.io.IOException;
+
+import javax.annotation.Nullable;
+
 public interface SpongeText {
 
     char COLOR_CHAR = '\247';
 
+    /**
+     * Returns a new mutable copy of the component of this text.
+     *
+     * @return A copy of the component
+     */
     IChatComponent toComponent();
 
+    /**
+     * Returns the component of this text. It is cached and shared with all
+     * other callers, so it must not be modified in any way, including adding
+     * it as sibling of another component. This should be used when the
+     * component is only serialized, e.g. when sending it in a packet.
+     *
+     * @return The shared component
+     */
+    IChatComponent getHandle();
+
+    /**
+     * Creates a chat packet for this text. The packet uses the cached JSON of
+     * this text, so it doesn't need to be serialized again for every player
+     * it is sent to.
+     *
+     * @param type The chat type ID
+     * @return The chat packet
+     */
+    S02PacketChat toPacket(byte type);
+
+    /**
+     * Writes this text in the same JSON format as
+     * {@link IChatComponent.Serializer}, without creating the component.
+     *
+     * @param out The JSON writer
+     * @throws IOException If the writer fails
+     */
+    void writeJson(JsonWriter out) throws IOException;
+
+    void appendPlain(StringBuilder builder);
+
+    /**
+     * Appends this text and its children in the legacy format. Formatting
+     * that isn't set on this text is inherited from the parent text.
+     *
+     * @param builder The builder to append to
+     * @param code The formatting code prefix
+     * @param parentColor The effective color of the parent text
+     * @param parentStyles The effective styles of the parent text
+     */
+    void appendLegacy(StringBuilder builder, char code, @Nullable EnumChatFormatting parentColor, int parentStyles);
+
     String toPlain();
 
     String toJson();
@@ -24,9 +24,6 @@
  */
 package org.spongepowered.mod.text;
 
-import static java.util.regex.Pattern.CASE_INSENSITIVE;
-
-import com.google.common.collect.ImmutableMap;
 import com.google.gson.JsonSyntaxException;
 import net.minecraft.util.EnumChatFormatting;
 import net.minecraft.util.IChatComponent;
@@ -39,8 +36,9 @@ import org.spongepowered.api.text.format.TextStyles;
 import org.spongepowered.api.util.annotation.NonnullByDefault;
 import org.spongepowered.mod.text.format.SpongeTextColor;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Arrays;
+
+import javax.annotation.Nullable;
 
 @NonnullByDefault
 public class SpongeTextFactory implements TextFactory {
@@ -69,25 +67,58 @@ public class SpongeTextFactory implements TextFactory {
         return ((SpongeText) text).toJson();
     }
 
+    /**
+     * Compiles a text with placeholders into a template.
+     *
+     * @param text The text to compile
+     * @return The compiled template
+     * @see SpongeTextTemplate
+     */
+    public SpongeTextTemplate compileTemplate(Text text) {
+        return SpongeTextTemplate.compile(text);
+    }
+
     @Override
     public char getLegacyChar() {
         return SpongeText.COLOR_CHAR;
     }
 
-    private static final ImmutableMap<Character, EnumChatFormatting> CHAR_TO_FORMATTING;
+    private static final EnumChatFormatting[] CHAR_TO_FORMATTING = new EnumChatFormatting[128];
 
     static {
-        ImmutableMap.Builder<Character, EnumChatFormatting> builder = ImmutableMap.builder();
-
         for (EnumChatFormatting formatting : EnumChatFormatting.values()) {
-            builder.put(formatting.formattingCode, formatting);
+            CHAR_TO_FORMATTING[formatting.formattingCode] = formatting;
+            CHAR_TO_FORMATTING[Character.toUpperCase(formatting.formattingCode)] = formatting;
         }
+    }
+
+    @Nullable
+    private static EnumChatFormatting getFormatting(char c) {
+        return c < CHAR_TO_FORMATTING.length ? CHAR_TO_FORMATTING[c] : null;
+    }
 
-        CHAR_TO_FORMATTING = builder.build();
+    /**
+     * Finds the next formatting code in the given text.
+     *
+     * @param text The text to search
+     * @param code The legacy formatting character
+     * @param start The index to start searching from
+     * @return The index of the formatting character, or -1 if there are no
+     *         more formatting codes
+     */
+    private static int findCode(String text, char code, int start) {
+        int pos = text.indexOf(code, start);
+        while (pos != -1 && pos < text.length() - 1) {
+            if (getFormatting(text.charAt(pos + 1)) != null) {
+                return pos;
+            }
+            pos = text.indexOf(code, pos + 1);
+        }
+        return -1;
     }
 
     private static void applyStyle(TextBuilder builder, char code) {
-        EnumChatFormatting formatting = CHAR_TO_FORMATTING.get(code);
+        EnumChatFormatting formatting = getFormatting(code);
         if (formatting != null) {
             switch (formatting) {
                 case BOLD:
@@ -115,63 +146,98 @@ public class SpongeTextFactory implements TextFactory {
         }
     }
 
-    private static Text.Literal parseLegacyMessage(String text, int pos, Matcher matcher, TextBuilder.Literal parent) {
-        String content = text.substring(pos, matcher.start());
-        parent.content(content);
-
-        TextBuilder.Literal builder = Texts.builder("");
-        applyStyle(builder, matcher.group(1).charAt(0));
-
-        int end = matcher.end();
-        while (true) {
-            if (!matcher.find()) {
-                builder.content(text.substring(end));
-                return builder.build();
-            } else if (end == matcher.start()) {
-                applyStyle(builder, matcher.group(1).charAt(0));
-                end = matcher.end();
-            } else {
-                break;
-            }
-        }
-
-        builder.append(parseLegacyMessage(text, end, matcher, builder));
-        return builder.build();
-    }
-
     @Override
     public Text.Literal parseLegacyMessage(String text, char code) {
         if (text.length() <= 1) {
             return Texts.of(text);
         }
 
-        Matcher matcher = (code == SpongeText.COLOR_CHAR ? FORMATTING_PATTERN :
-                Pattern.compile(code + "([0-9A-FK-OR])", CASE_INSENSITIVE)).matcher(text);
-        if (!matcher.find()) {
+        int first = findCode(text, code, 0);
+        if (first == -1) {
             return Texts.of(text);
         }
 
-        return parseLegacyMessage(text, 0, matcher, Texts.builder(""));
-    }
+        // Each segment is a run of formatting codes followed by its content, stored as
+        // (start of the codes, start of the content, end of the content)
+        int[] segments = new int[24];
+        int length = 0;
+
+        int pos = first;
+        while (pos != -1) {
+            int codes = pos;
+            pos += 2;
+            while (pos < text.length() - 1 && text.charAt(pos) == code && getFormatting(text.charAt(pos + 1)) != null) {
+                pos += 2;
+            }
+
+            int end = findCode(text, code, pos);
+            if (length + 3 > segments.length) {
+                segments = Arrays.copyOf(segments, segments.length * 2);
+            }
+            segments[length++] = codes;
+            segments[length++] = pos;
+            segments[length++] = end != -1 ? end : text.length();
+            pos = end;
+        }
 
-    private static final Pattern FORMATTING_PATTERN = Pattern.compile(SpongeText.COLOR_CHAR + "([0-9A-FK-OR])", CASE_INSENSITIVE);
+        // Every segment is a child of the previous one, so build them starting with the last one
+        Text.Literal result = null;
+        for (int i = length - 3; i >= 0; i -= 3) {
+            TextBuilder.Literal builder = Texts.builder(text.substring(segments[i + 1], segments[i + 2]));
+            for (int j = segments[i]; j < segments[i + 1]; j += 2) {
+                applyStyle(builder, text.charAt(j + 1));
+            }
+            if (result != null) {
+                builder.append(result);
+            }
+            result = builder.build();
+        }
+
+        if (first > 0) {
+            TextBuilder.Literal builder = Texts.builder(text.substring(0, first));
+            builder.append(result);
+            result = builder.build();
+        }
+
+        return result;
+    }
 
     @Override
     public String stripLegacyCodes(String text, char code) {
-        if (code == SpongeText.COLOR_CHAR) {
-            return FORMATTING_PATTERN.matcher(text).replaceAll("");
+        int pos = findCode(text, code, 0);
+        if (pos == -1) {
+            return text;
         }
 
-        return text.replaceAll("(?i)" + code + "[0-9A-FK-OR]", "");
+        StringBuilder builder = new StringBuilder(text.length());
+        int last = 0;
+        do {
+            builder.append(text, last, pos);
+            last = pos + 2;
+            pos = findCode(text, code, last);
+        } while (pos != -1);
+
+        return builder.append(text, last, text.length()).toString();
     }
 
     @Override
     public String replaceLegacyCodes(String text, char from, char to) {
-        if (from == SpongeText.COLOR_CHAR) {
-            return FORMATTING_PATTERN.matcher(text).replaceAll(to + "$1");
+        if (from == to) {
+            return text;
         }
 
-        return text.replaceAll("(?i)" + from + "([0-9A-FK-OR])", to + "$1");
+        int pos = findCode(text, from, 0);
+        if (pos == -1) {
+            return text;
+        }
+
+        char[] chars = text.toCharArray();
+        do {
+            chars[pos] = to;
+            pos = findCode(text, from, pos + 2);
+        } while (pos != -1);
+
+        return new String(chars);
     }
 
     @Override
@@ -0,0 +1,355 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered.org <http://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.text;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.gson.stream.JsonWriter;
+import net.minecraft.network.play.server.S02PacketChat;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.ChatComponentText;
+import net.minecraft.util.IChatComponent;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.mod.interfaces.IMixinChatPacket;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A {@link Text} compiled with named placeholders, which can be rendered many
+ * times with different values without building and serializing the whole text
+ * again.
+ *
+ * <p>Placeholders are written as <code>{name}</code> in the content of a
+ * literal text or a translation argument. If a placeholder is the whole
+ * content of an unformatted literal text or a translation argument, it is
+ * replaced with the complete value, so {@link Text} values keep their
+ * formatting. Otherwise the plain value is inserted into the string.</p>
+ */
+public final class SpongeTextTemplate {
+
+    private final Part json;
+    private final Part plain;
+    private final ImmutableSet<String> placeholders;
+
+    private SpongeTextTemplate(Part json, Part plain) {
+        this.json = json;
+        this.plain = plain;
+        this.placeholders = ImmutableSet.copyOf(json.keys);
+    }
+
+    public static SpongeTextTemplate compile(Text text) {
+        StringWriter writer = new StringWriter();
+        TemplateWriter out = new TemplateWriter(writer);
+        try {
+            ((SpongeText) text).writeJson(out);
+        } catch (IOException e) {
+            throw new AssertionError(e); // StringWriter doesn't throw
+        }
+
+        Part json = out.finish();
+        Part plain = Part.split(((SpongeText) text).toPlain(), ImmutableSet.copyOf(json.keys));
+        return new SpongeTextTemplate(json, plain);
+    }
+
+    public Set<String> getPlaceholders() {
+        return this.placeholders;
+    }
+
+    /**
+     * Renders the JSON of this template with the given values. Values may be
+     * {@link Text}s or any other object, which is converted to a string.
+     *
+     * @param values The values of all placeholders
+     * @return The JSON of the rendered text
+     */
+    public String toJson(Map<String, ?> values) {
+        return this.json.render(values, true);
+    }
+
+    public String toPlain(Map<String, ?> values) {
+        return this.plain.render(values, false);
+    }
+
+    /**
+     * Renders this template into a chat packet, which writes the spliced JSON
+     * directly.
+     *
+     * @param values The values of all placeholders
+     * @param type The chat type ID
+     * @return The chat packet
+     */
+    public S02PacketChat toPacket(Map<String, ?> values, byte type) {
+        String json = toJson(values);
+        IChatComponent component;
+        MinecraftServer server = MinecraftServer.getServer();
+        if (server == null || server.isDedicatedServer()) {
+            // The component is never serialized on a dedicated server, the JSON is written instead
+            component = new ChatComponentText(toPlain(values));
+        } else {
+            // Packets to the local client are not serialized at all
+            component = IChatComponent.Serializer.jsonToComponent(json);
+        }
+
+        S02PacketChat packet = new S02PacketChat(component, type);
+        ((IMixinChatPacket) packet).setSerializedComponent(json);
+        return packet;
+    }
+
+    private static final class Part {
+
+        final String[] fragments;
+        final String[] keys;
+        final boolean[] replaceValue;
+        final int length;
+
+        Part(List<String> fragments, List<String> keys, List<Boolean> replaceValue) {
+            this.fragments = fragments.toArray(new String[fragments.size()]);
+            this.keys = keys.toArray(new String[keys.size()]);
+            this.replaceValue = new boolean[this.keys.length];
+            for (int i = 0; i < this.keys.length; i++) {
+                this.replaceValue[i] = replaceValue.get(i);
+            }
+
+            int length = 0;
+            for (String fragment : this.fragments) {
+                length += fragment.length();
+            }
+            this.length = length;
+        }
+
+        static Part split(String text, Set<String> keys) {
+            List<String> fragments = Lists.newArrayList();
+            List<String> slots = Lists.newArrayList();
+            List<Boolean> replaceValue = Lists.newArrayList();
+
+            int last = 0;
+            int pos = 0;
+            while ((pos = text.indexOf('{', pos)) != -1) {
+                String key = findKey(text, pos);
+                if (key == null || !keys.contains(key)) {
+                    pos++;
+                    continue;
+                }
+
+                fragments.add(text.substring(last, pos));
+                slots.add(key);
+                replaceValue.add(false);
+                pos += key.length() + 2;
+                last = pos;
+            }
+
+            fragments.add(text.substring(last));
+            return new Part(fragments, slots, replaceValue);
+        }
+
+        String render(Map<String, ?> values, boolean json) {
+            StringBuilder builder = new StringBuilder(this.length + this.keys.length * 16);
+            for (int i = 0; i < this.keys.length; i++) {
+                builder.append(this.fragments[i]);
+
+                Object value = values.get(this.keys[i]);
+                checkArgument(value != null || values.containsKey(this.keys[i]), "Missing value for placeholder %s", this.keys[i]);
+
+                if (this.replaceValue[i]) {
+                    if (value instanceof SpongeText) {
+                        builder.append(((SpongeText) value).toJson());
+                    } else {
+                        builder.append('"');
+                        escape(builder, String.valueOf(value));
+                        builder.append('"');
+                    }
+                } else {
+                    String string = value instanceof SpongeText ? ((SpongeText) value).toPlain() : String.valueOf(value);
+                    if (json) {
+                        escape(builder, string);
+                    } else {
+                        builder.append(string);
+                    }
+                }
+            }
+
+            return builder.append(this.fragments[this.keys.length]).toString();
+        }
+
+    }
+
+    private static String findKey(String text, int start) {
+        int i = start + 1;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (c == '}') {
+                return i > start + 1 ? text.substring(start + 1, i) : null;
+            } else if (!Character.isLetterOrDigit(c) && c != '_' && c != '-' && c != '.') {
+                return null;
+            }
+            i++;
+        }
+        return null;
+    }
+
+    private static void escape(StringBuilder builder, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                case '\\':
+                    builder.append('\\').append(c);
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                case '\r':
+                    builder.append("\\r");
+                    break;
+                case '\t':
+                    builder.append("\\t");
+                    break;
+                case '\b':
+                    builder.append("\\b");
+                    break;
+                case '\f':
+                    builder.append("\\f");
+                    break;
+                case '\u2028':
+                case '\u2029':
+                    builder.append(String.format("\\u%04x", (int) c));
+                    break;
+                default:
+                    if (c < 0x20) {
+                        builder.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        builder.append(c);
+                    }
+            }
+        }
+    }
+
+    /**
+     * Writes the JSON of the text and records where the placeholders are
+     * written, so the static JSON around them can be stored as fragments.
+     */
+    private static final class TemplateWriter extends JsonWriter {
+
+        private final StringWriter writer;
+        private final List<String> fragments = Lists.newArrayList();
+        private final List<String> keys = Lists.newArrayList();
+        private final List<Boolean> replaceValue = Lists.newArrayList();
+        private int last;
+        private boolean named;
+
+        TemplateWriter(StringWriter writer) {
+            super(writer);
+            this.writer = writer;
+            setLenient(true); // Plain texts are written as top-level JSON string
+        }
+
+        @Override
+        public JsonWriter name(String name) throws IOException {
+            super.name(name);
+            this.named = true;
+            return this;
+        }
+
+        @Override
+        public JsonWriter beginObject() throws IOException {
+            this.named = false;
+            return super.beginObject();
+        }
+
+        @Override
+        public JsonWriter beginArray() throws IOException {
+            this.named = false;
+            return super.beginArray();
+        }
+
+        @Override
+        public JsonWriter value(boolean value) throws IOException {
+            this.named = false;
+            return super.value(value);
+        }
+
+        @Override
+        public JsonWriter value(String value) throws IOException {
+            boolean named = this.named;
+            this.named = false;
+            if (value == null || value.indexOf('{') == -1) {
+                return super.value(value);
+            }
+
+            String key = findKey(value, 0);
+            if (!named && key != null && key.length() + 2 == value.length()) {
+                // The whole element is replaced, so write an empty string to get the separators
+                super.value("");
+                StringBuffer buffer = this.writer.getBuffer();
+                addSlot(buffer, buffer.length() - 2, buffer.length(), key, true);
+                return this;
+            }
+
+            super.value(value);
+            StringBuffer buffer = this.writer.getBuffer();
+            // Braces and placeholder names are never escaped, so they can be found in the written string
+            int pos = buffer.length() - 1;
+            int start = pos - escapedLength(value);
+            while ((start = buffer.indexOf("{", start)) != -1 && start < pos) {
+                key = findKey(buffer.substring(start, pos), 0);
+                if (key == null) {
+                    start++;
+                    continue;
+                }
+
+                addSlot(buffer, start, start + key.length() + 2, key, false);
+                start = this.last;
+            }
+            return this;
+        }
+
+        private void addSlot(StringBuffer buffer, int start, int end, String key, boolean replaceValue) {
+            this.fragments.add(buffer.substring(this.last, start));
+            this.keys.add(key);
+            this.replaceValue.add(replaceValue);
+            this.last = end;
+        }
+
+        private static int escapedLength(String value) {
+            StringBuilder builder = new StringBuilder(value.length());
+            escape(builder, value);
+            return builder.length();
+        }
+
+        Part finish() {
+            StringBuffer buffer = this.writer.getBuffer();
+            this.fragments.add(buffer.substring(this.last));
+            return new Part(this.fragments, this.keys, this.replaceValue);
+        }
+
+    }
+
+}
@@ -24,9 +24,12 @@
  */
 package org.spongepowered.mod.text.action;
 
+import com.google.gson.stream.JsonWriter;
 import net.minecraft.event.ClickEvent;
 import org.spongepowered.api.text.action.ClickAction;
 
+import java.io.IOException;
+
 public final class SpongeClickAction {
 
     private SpongeClickAction() {}
@@ -49,4 +52,11 @@ public final class SpongeClickAction {
         return new ClickEvent(getType(action), action.getResult().toString());
     }
 
+    public static void writeJson(JsonWriter out, ClickAction<?> action) throws IOException {
+        out.beginObject();
+        out.name("action").value(getType(action).getCanonicalName());
+        out.name("value").value(action.getResult().toString());
+        out.endObject();
+    }
+
 }
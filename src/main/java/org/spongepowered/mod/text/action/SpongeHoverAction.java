@@ -24,6 +24,7 @@
  */
 package org.spongepowered.mod.text.action;
 
+import com.google.gson.stream.JsonWriter;
 import net.minecraft.entity.EntityList;
 import net.minecraft.event.HoverEvent;
 import net.minecraft.nbt.NBTTagCompound;
@@ -34,6 +35,8 @@ import org.spongepowered.api.text.action.HoverAction;
 import org.spongepowered.mod.entity.SpongeEntityType;
 import org.spongepowered.mod.text.SpongeText;
 
+import java.io.IOException;
+
 public class SpongeHoverAction {
 
     private SpongeHoverAction() {
@@ -92,4 +95,17 @@ public class SpongeHoverAction {
         return new HoverEvent(type, component);
     }
 
+    public static void writeJson(JsonWriter out, HoverAction<?> action) throws IOException {
+        HoverEvent.Action type = getType(action);
+        out.beginObject();
+        out.name("action").value(type.getCanonicalName());
+        out.name("value");
+        if (type == HoverEvent.Action.SHOW_TEXT) {
+            ((SpongeText) action.getResult()).writeJson(out);
+        } else {
+            out.value(getHandle(action).getValue().getUnformattedText());
+        }
+        out.endObject();
+    }
+
 }
@@ -26,16 +26,19 @@ package org.spongepowered.mod.text.format;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.google.common.collect.Maps;
 import net.minecraft.util.EnumChatFormatting;
 import org.spongepowered.api.text.format.TextColor;
 import org.spongepowered.api.util.annotation.NonnullByDefault;
-import org.spongepowered.mod.registry.SpongeGameRegistry;
 
 import java.awt.Color;
+import java.util.Map;
 
 @NonnullByDefault
 public class SpongeTextColor implements TextColor.Base {
 
+    private static final Map<EnumChatFormatting, SpongeTextColor> colors = Maps.newEnumMap(EnumChatFormatting.class);
+
     private final EnumChatFormatting handle;
     private final Color color;
 
@@ -70,7 +73,13 @@ public class SpongeTextColor implements TextColor.Base {
     }
 
     public static SpongeTextColor of(EnumChatFormatting color) {
-        return SpongeGameRegistry.enumChatColor.get(color);
+        return colors.get(color);
+    }
+
+    public static SpongeTextColor register(EnumChatFormatting handle, Color color) {
+        SpongeTextColor spongeColor = new SpongeTextColor(handle, color);
+        colors.put(handle, spongeColor);
+        return spongeColor;
     }
 
 }
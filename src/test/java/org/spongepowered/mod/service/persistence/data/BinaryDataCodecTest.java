@@ -0,0 +1,112 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered.org <http://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.service.persistence.data;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.Lists;
+import org.junit.Test;
+import org.spongepowered.api.service.persistence.data.DataContainer;
+import org.spongepowered.api.service.persistence.data.DataQuery;
+import org.spongepowered.api.service.persistence.data.MemoryDataContainer;
+import org.spongepowered.mod.service.persistence.BinaryDataCodec;
+import org.spongepowered.mod.service.persistence.SpongeSerializationService;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+
+public class BinaryDataCodecTest {
+
+    private static DataContainer createContainer() {
+        DataContainer container = new MemoryDataContainer();
+        container.set(new DataQuery("foo"), "bar");
+        container.set(new DataQuery("with.dot"), -5);
+        container.set(new DataQuery("long"), Long.MIN_VALUE);
+        container.set(new DataQuery("double"), 10.5D);
+        container.set(new DataQuery("nested", "compound"), "value");
+
+        List<DataContainer> items = Lists.newArrayList();
+        for (int i = 0; i < 27; i++) {
+            DataContainer item = new MemoryDataContainer();
+            item.set(new DataQuery("Slot"), (byte) i);
+            item.set(new DataQuery("id"), "minecraft:stone");
+            items.add(item);
+        }
+        container.set(new DataQuery("Items"), items);
+        return container;
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        DataContainer container = createContainer();
+        BinaryDataCodec codec = BinaryDataCodec.getInstance();
+        assertTrue(container.equals(codec.decode(codec.encode(container, false))));
+        assertTrue(container.equals(codec.decode(codec.encode(container, true))));
+    }
+
+    @Test
+    public void testArrays() throws Exception {
+        DataContainer container = new MemoryDataContainer();
+        container.set(new DataQuery("bytes"), new byte[] {1, 2, 3});
+        container.set(new DataQuery("ints"), new int[] {4, -5, 6});
+
+        BinaryDataCodec codec = BinaryDataCodec.getInstance();
+        DataContainer decoded = codec.decode(codec.encode(container, false));
+        assertArrayEquals(new byte[] {1, 2, 3}, (byte[]) decoded.get(new DataQuery("bytes")).get());
+        assertArrayEquals(new int[] {4, -5, 6}, (int[]) decoded.get(new DataQuery("ints")).get());
+    }
+
+    @Test
+    public void testMultipleFrames() throws Exception {
+        DataContainer container = createContainer();
+        BinaryDataCodec codec = BinaryDataCodec.getInstance();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        codec.write(container, out, true);
+        codec.write(container, out, false);
+
+        ByteArrayInputStream in = new ByteArrayInputStream(out.toByteArray());
+        assertTrue(container.equals(codec.read(in)));
+        assertTrue(container.equals(codec.read(in)));
+        assertEquals(0, in.available());
+    }
+
+    @Test
+    public void testSerializationService() throws Exception {
+        SpongeSerializationService service = new SpongeSerializationService();
+        service.registerBuilder(FakeSerializable.class, new FakeBuilder());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.serialize(new FakeSerializable("bar", 7, 10.0D, "nested"), out, false);
+        FakeSerializable fake = service.deserialize(FakeSerializable.class, new ByteArrayInputStream(out.toByteArray())).get();
+        assertEquals("your mum", fake.foo);
+        assertEquals(1, fake.myInt);
+        assertEquals("your face", fake.nestedCompound);
+    }
+
+}
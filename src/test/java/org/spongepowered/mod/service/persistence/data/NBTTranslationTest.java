@@ -25,10 +25,12 @@
 
 package org.spongepowered.mod.service.persistence.data;
 
-import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 
 import com.google.common.base.Optional;
 import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
 import org.junit.Test;
 import org.mockito.Mockito;
 import org.spongepowered.api.service.persistence.DataSerializableBuilder;
@@ -52,7 +54,78 @@ public class NBTTranslationTest {
         container.set(new DataQuery("myFake"), temp);
         NBTTagCompound compound = NbtTranslator.getInstance().translateData(container);
         DataView translatedContainer = NbtTranslator.getInstance().translateFrom(compound);
-        assertTrue(container.equals(translatedContainer));
+        assertEquals(container.getValues(true), translatedContainer.getValues(true));
+    }
+
+    @Test
+    public void testDottedKeysAndArrays() {
+        NBTTagCompound compound = new NBTTagCompound();
+        compound.setString("with.dot", "value");
+        compound.setByteArray("bytes", new byte[] {1, 2, 3});
+        compound.setIntArray("ints", new int[] {4, 5, 6});
+        NBTTagCompound inner = new NBTTagCompound();
+        inner.setInteger("a.b", 7);
+        compound.setTag("inner", inner);
+
+        DataView view = NbtTranslator.getInstance().translateFrom(compound);
+        assertEquals("value", view.get(new DataQuery("with.dot")).get());
+        assertEquals(compound, NbtTranslator.getInstance().translateData(view));
+    }
+
+    @Test
+    public void testInventoryRoundTrip() {
+        NBTTagList items = new NBTTagList();
+        for (int i = 0; i < 27; i++) {
+            NBTTagCompound item = new NBTTagCompound();
+            item.setByte("Slot", (byte) i);
+            item.setString("id", "minecraft:stone");
+            item.setByte("Count", (byte) 64);
+            item.setShort("Damage", (short) i);
+            items.appendTag(item);
+        }
+
+        NBTTagCompound chest = new NBTTagCompound();
+        chest.setString("id", "Chest");
+        chest.setTag("Items", items);
+
+        DataView view = NbtTranslator.getInstance().translateFrom(chest);
+        assertEquals(chest, NbtTranslator.getInstance().translateData(view));
+    }
+
+    @Test
+    public void testWrappedCompound() {
+        NBTTagCompound compound = new NBTTagCompound();
+        compound.setString("foo", "bar");
+        NBTTagCompound inner = new NBTTagCompound();
+        inner.setInteger("value", 7);
+        compound.setTag("inner", inner);
+
+        DataContainer container = NbtTranslator.getInstance().wrap(compound);
+        assertEquals("bar", container.getString(new DataQuery("foo")).get());
+        assertEquals(7, (int) container.getInt(new DataQuery("inner", "value")).get());
+        assertEquals(compound, NbtTranslator.getInstance().translateData(container));
+
+        container.set(new DataQuery("inner", "other"), 5);
+        inner.setInteger("other", 5);
+        assertEquals(compound, NbtTranslator.getInstance().translateData(container));
+        assertEquals(NbtTranslator.getInstance().translateData(NbtTranslator.getInstance().translateFrom(compound)),
+                NbtTranslator.getInstance().translateData(container));
+    }
+
+    @Test
+    public void testWrappedCompoundCopies() {
+        NBTTagCompound compound = new NBTTagCompound();
+        compound.setByteArray("bytes", new byte[] {1, 2, 3});
+
+        DataContainer container = NbtTranslator.getInstance().wrap(compound);
+        ((byte[]) container.get(new DataQuery("bytes")).get())[0] = 9;
+        assertEquals(1, compound.getByteArray("bytes")[0]);
+
+        container.set(new DataQuery("foo"), "bar");
+        assertFalse(compound.hasKey("foo"));
+        NBTTagCompound expected = (NBTTagCompound) compound.copy();
+        expected.setString("foo", "bar");
+        assertEquals(expected, NbtTranslator.getInstance().translateData(container));
     }
 
 }
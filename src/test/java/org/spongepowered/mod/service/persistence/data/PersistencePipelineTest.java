@@ -0,0 +1,125 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered.org <http://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.service.persistence.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ListenableFuture;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.spongepowered.api.service.persistence.DataSerializable;
+import org.spongepowered.api.service.persistence.DataSerializableBuilder;
+import org.spongepowered.api.service.persistence.SerializationService;
+import org.spongepowered.api.service.persistence.data.DataContainer;
+import org.spongepowered.api.service.persistence.data.DataQuery;
+import org.spongepowered.api.service.persistence.data.MemoryDataContainer;
+import org.spongepowered.mod.service.persistence.PersistencePipeline;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class PersistencePipelineTest {
+
+    private static File createDirectory() throws IOException {
+        File dir = File.createTempFile("pipeline", "");
+        assertTrue(dir.delete() && dir.mkdir());
+        dir.deleteOnExit();
+        return dir;
+    }
+
+    private static List<FakeSerializable> createObjects(int count) {
+        List<FakeSerializable> objects = Lists.newArrayList();
+        for (int i = 0; i < count; i++) {
+            objects.add(new FakeSerializable("bar", i, 10.0D, "nested"));
+        }
+        return objects;
+    }
+
+    private static List<FakeSerializable> read(File file) throws Exception {
+        SerializationService service = Mockito.mock(SerializationService.class);
+        DataSerializableBuilder<FakeSerializable> builder = new FakeBuilder();
+        Mockito.stub(service.getBuilder(FakeSerializable.class)).toReturn(Optional.of(builder));
+
+        ListenableFuture<List<FakeSerializable>> future = PersistencePipeline.getInstance().read(service, FakeSerializable.class, file);
+        // The objects are built on ticks, which this thread stands in for
+        TickEvent.ServerTickEvent tick = new TickEvent.ServerTickEvent(TickEvent.Phase.END);
+        for (int i = 0; i < 1000 && !future.isDone(); i++) {
+            PersistencePipeline.getInstance().onTick(tick);
+            Thread.sleep(5);
+        }
+        return future.get(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        File file = new File(createDirectory(), "objects.dat");
+        file.deleteOnExit();
+
+        // More objects than are built per tick
+        assertEquals(100, (int) PersistencePipeline.getInstance().write(createObjects(100), file, true).get());
+        List<FakeSerializable> objects = read(file);
+        assertEquals(100, objects.size());
+        assertEquals("your mum", objects.get(0).foo);
+        assertEquals("your face", objects.get(99).nestedCompound);
+    }
+
+    @Test
+    public void testFailedWriteKeepsFile() throws Exception {
+        File dir = createDirectory();
+        File file = new File(dir, "objects.dat");
+        file.deleteOnExit();
+        PersistencePipeline.getInstance().write(createObjects(2), file, false).get();
+
+        DataSerializable unencodable = new DataSerializable() {
+
+            @Override
+            public DataContainer toContainer() {
+                DataContainer container = new MemoryDataContainer();
+                container.set(new DataQuery("value"), new Object());
+                return container;
+            }
+        };
+        List<DataSerializable> objects = Lists.<DataSerializable>newArrayList(createObjects(5));
+        objects.add(unencodable);
+        try {
+            PersistencePipeline.getInstance().write(objects, file, false).get();
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalArgumentException);
+        }
+
+        assertEquals(2, read(file).size());
+        assertEquals(1, dir.listFiles().length);
+    }
+
+}
@@ -0,0 +1,134 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered.org <http://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.service.sql;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.Test;
+import org.spongepowered.api.service.persistence.data.DataContainer;
+import org.spongepowered.api.service.persistence.data.DataQuery;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class SqlExecutorTest {
+
+    @Test
+    public void testExecuteAndQuery() throws Exception {
+        JdbcDataSource source = new JdbcDataSource();
+        source.setURL("jdbc:h2:mem:executor;DB_CLOSE_DELAY=-1");
+        SqlExecutor executor = new SqlExecutor(source, 2);
+
+        executor.execute("CREATE TABLE test (id INT PRIMARY KEY, name VARCHAR(16))").get();
+        assertEquals(1, (int) executor.execute("INSERT INTO test VALUES (?, ?)", 1, "foo").get());
+        assertEquals(1, (int) executor.execute("INSERT INTO test VALUES (?, ?)", 2, "bar").get());
+
+        String name = executor.query("SELECT name FROM test WHERE id = ?", new SqlExecutor.ResultSetHandler<String>() {
+
+            @Override
+            public String handle(ResultSet result) throws SQLException {
+                return result.next() ? result.getString(1) : null;
+            }
+        }, 2).get();
+        assertEquals("bar", name);
+    }
+
+    @Test
+    public void testBatchWriter() throws Exception {
+        JdbcDataSource source = new JdbcDataSource();
+        source.setURL("jdbc:h2:mem:batch;DB_CLOSE_DELAY=-1");
+        SqlExecutor executor = new SqlExecutor(source, 2);
+        executor.execute("CREATE TABLE stats (id INT PRIMARY KEY, value INT)").get();
+
+        SqlBatchWriter writer = executor.getBatchWriter("INSERT INTO stats VALUES (?, ?)", 100, 1, TimeUnit.MINUTES);
+        for (int i = 0; i < 250; i++) {
+            assertTrue(writer.offer(i, i * 2));
+        }
+        writer.flush().get();
+        executor.shutdown();
+        assertEquals(0, writer.getPending());
+        assertFalse(writer.offer(250, 500));
+        assertEquals(0, writer.getPending());
+
+        SqlExecutor reader = new SqlExecutor(source, 1);
+        int count = reader.query("SELECT COUNT(*) FROM stats", new SqlExecutor.ResultSetHandler<Integer>() {
+
+            @Override
+            public Integer handle(ResultSet result) throws SQLException {
+                result.next();
+                return result.getInt(1);
+            }
+        }).get();
+        assertEquals(250, count);
+    }
+
+    @Test
+    public void testFlushAfterShutdown() throws Exception {
+        JdbcDataSource source = new JdbcDataSource();
+        source.setURL("jdbc:h2:mem:rejected;DB_CLOSE_DELAY=-1");
+        SqlExecutor executor = new SqlExecutor(source, 1);
+        executor.shutdown();
+
+        // Not known to the executor, so it wasn't told about the shutdown
+        SqlBatchWriter writer = new SqlBatchWriter(executor, "INSERT INTO stats VALUES (?, ?)", 100, 1, TimeUnit.MINUTES);
+        assertTrue(writer.offer(1, 2));
+        assertEquals(1, writer.getPending());
+        try {
+            writer.flush().get();
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof RejectedExecutionException);
+        }
+        assertEquals(0, writer.getPending());
+    }
+
+    @Test
+    public void testQueryContainers() throws Exception {
+        JdbcDataSource source = new JdbcDataSource();
+        source.setURL("jdbc:h2:mem:containers;DB_CLOSE_DELAY=-1");
+        SqlExecutor executor = new SqlExecutor(source, 1);
+        executor.execute("CREATE TABLE homes (owner VARCHAR(16), x INT, y BIGINT, note VARCHAR(32))").get();
+        executor.execute("INSERT INTO homes VALUES (?, ?, ?, ?)", "foo", 10, 64L, null).get();
+
+        for (int i = 0; i < 2; i++) {
+            List<DataContainer> rows = executor.queryContainers("SELECT owner, x, y AS \"pos.y\", note FROM homes WHERE owner = ?", "foo").get();
+            assertEquals(1, rows.size());
+            DataContainer row = rows.get(0);
+            assertEquals("foo", row.getString(new DataQuery("OWNER")).get());
+            assertEquals(10, (int) row.getInt(new DataQuery("X")).get());
+            assertEquals(64L, (long) row.getLong(new DataQuery("pos.y")).get());
+            assertFalse(row.contains(new DataQuery("NOTE")));
+        }
+    }
+
+}
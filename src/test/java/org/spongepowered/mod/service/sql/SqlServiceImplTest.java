@@ -64,4 +64,13 @@ public class SqlServiceImplTest {
         assertEquals(jdbcUrl, subject.getAuthlessUrl());
         assertEquals("org.sqlite.JDBC", subject.getDriverClassName());
     }
+
+    @Test
+    public void testConnectionInfoEquality() throws SQLException {
+        final SqlServiceImpl.ConnectionInfo first = SqlServiceImpl.ConnectionInfo.fromUrl("jdbc:h2:sparkles.db");
+        final SqlServiceImpl.ConnectionInfo second = SqlServiceImpl.ConnectionInfo.fromUrl("h2:sparkles.db");
+
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+    }
 }
@@ -0,0 +1,84 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered.org <http://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.status;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+public class PingRateLimiterTest {
+
+    private final PingRateLimiter limiter = PingRateLimiter.getInstance();
+
+    @Before
+    public void reset() {
+        this.limiter.clear();
+    }
+
+    @Test
+    public void testBurstIsLimited() throws UnknownHostException {
+        InetAddress address = InetAddress.getByName("10.0.0.1");
+        for (int i = 0; i < 5; i++) {
+            assertTrue(this.limiter.tryAcquire(address, 0, 5));
+        }
+        assertFalse(this.limiter.tryAcquire(address, 0, 5));
+
+        assertEquals(5, this.limiter.getAllowed());
+        assertEquals(1, this.limiter.getThrottled());
+    }
+
+    @Test
+    public void testAddressesAreSeparate() throws UnknownHostException {
+        assertTrue(this.limiter.tryAcquire(InetAddress.getByName("10.0.0.1"), 0, 1));
+        assertFalse(this.limiter.tryAcquire(InetAddress.getByName("10.0.0.1"), 0, 1));
+        assertTrue(this.limiter.tryAcquire(InetAddress.getByName("10.0.0.2"), 0, 1));
+        assertEquals(2, this.limiter.getTrackedAddresses());
+    }
+
+    @Test
+    public void testIpv6NetworkSharesBucket() throws UnknownHostException {
+        assertTrue(this.limiter.tryAcquire(InetAddress.getByName("2001:db8::1"), 0, 1));
+        assertFalse(this.limiter.tryAcquire(InetAddress.getByName("2001:db8::2"), 0, 1));
+        assertTrue(this.limiter.tryAcquire(InetAddress.getByName("2001:db8:0:1::1"), 0, 1));
+    }
+
+    @Test
+    public void testManyAddresses() throws UnknownHostException {
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(this.limiter.tryAcquire(InetAddress.getByAddress(new byte[] {10, 1, (byte) (i >> 8), (byte) i}), 0, 1));
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertFalse(this.limiter.tryAcquire(InetAddress.getByAddress(new byte[] {10, 1, (byte) (i >> 8), (byte) i}), 0, 1));
+        }
+        assertEquals(1000, this.limiter.getTrackedAddresses());
+    }
+
+}
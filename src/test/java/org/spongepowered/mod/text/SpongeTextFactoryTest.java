@@ -0,0 +1,114 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered.org <http://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.text;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import net.minecraft.util.EnumChatFormatting;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.mod.text.format.SpongeTextColor;
+
+import java.awt.Color;
+
+public class SpongeTextFactoryTest {
+
+    private static final String[] LEGACY_TEXTS = {
+            "", "&", "a&", "&a", "&&a", "&A&bc", "Hi&", "x&z&1y", "&k&L&m&N&o&R", "&g&G", "&aHello &BWorld&", "&&&&aa",
+            SpongeText.COLOR_CHAR + "a" + SpongeText.COLOR_CHAR + SpongeText.COLOR_CHAR + "Fb"
+    };
+
+    private final SpongeTextFactory factory = new SpongeTextFactory();
+
+    @BeforeClass
+    public static void registerColors() {
+        // The colors are normally registered by the game registry
+        SpongeTextColor.register(EnumChatFormatting.GREEN, new Color(0x55FF55));
+        SpongeTextColor.register(EnumChatFormatting.AQUA, new Color(0x00FFFF));
+    }
+
+    // The regular expressions used before the scanner
+    private static String stripWithRegex(String text, char code) {
+        return text.replaceAll("(?i)" + code + "[0-9A-FK-OR]", "");
+    }
+
+    private static String replaceWithRegex(String text, char from, char to) {
+        return text.replaceAll("(?i)" + from + "([0-9A-FK-OR])", to + "$1");
+    }
+
+    @Test
+    public void testStripMatchesRegex() {
+        for (String text : LEGACY_TEXTS) {
+            assertEquals(text, stripWithRegex(text, '&'), this.factory.stripLegacyCodes(text, '&'));
+            assertEquals(text, stripWithRegex(text, SpongeText.COLOR_CHAR), this.factory.stripLegacyCodes(text, SpongeText.COLOR_CHAR));
+        }
+    }
+
+    @Test
+    public void testReplaceMatchesRegex() {
+        for (String text : LEGACY_TEXTS) {
+            assertEquals(text, replaceWithRegex(text, '&', SpongeText.COLOR_CHAR), this.factory.replaceLegacyCodes(text, '&', SpongeText.COLOR_CHAR));
+            assertEquals(text, replaceWithRegex(text, SpongeText.COLOR_CHAR, '&'), this.factory.replaceLegacyCodes(text, SpongeText.COLOR_CHAR, '&'));
+        }
+    }
+
+    @Test
+    public void testMixedCaseCodes() {
+        Text.Literal text = this.factory.parseLegacyMessage("&AHi&bthere", '&');
+        assertEquals("Hi", text.getContent());
+        assertEquals(SpongeTextColor.of(EnumChatFormatting.GREEN), text.getColor());
+
+        assertEquals(1, text.getChildren().size());
+        Text.Literal child = (Text.Literal) text.getChildren().get(0);
+        assertEquals("there", child.getContent());
+        assertEquals(SpongeTextColor.of(EnumChatFormatting.AQUA), child.getColor());
+    }
+
+    @Test
+    public void testTrailingCodeChar() {
+        Text.Literal text = this.factory.parseLegacyMessage("Hi&", '&');
+        assertEquals("Hi&", text.getContent());
+        assertTrue(text.getChildren().isEmpty());
+
+        text = this.factory.parseLegacyMessage("&aHi&", '&');
+        assertEquals("Hi&", text.getContent());
+        assertEquals(SpongeTextColor.of(EnumChatFormatting.GREEN), text.getColor());
+        assertTrue(text.getChildren().isEmpty());
+    }
+
+    @Test
+    public void testLeadingPrefix() {
+        Text.Literal text = this.factory.parseLegacyMessage("Hi &athere", '&');
+        assertEquals("Hi ", text.getContent());
+
+        assertEquals(1, text.getChildren().size());
+        Text.Literal child = (Text.Literal) text.getChildren().get(0);
+        assertEquals("there", child.getContent());
+        assertEquals(SpongeTextColor.of(EnumChatFormatting.GREEN), child.getColor());
+    }
+
+}